@@ -0,0 +1,35 @@
+package game.benchmarks;
+
+import game.characters.Cat;
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cat's per-step update on its own, while walking (animation frames switching).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CatStepBenchmark {
+
+    private Cat cat;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameWorld world = HeadlessRunner.createLevel(1);
+        cat = world.getCat();
+        cat.startWalking(20);
+    }
+
+    @Benchmark
+    public Cat update() {
+        cat.update();
+        return cat;
+    }
+}
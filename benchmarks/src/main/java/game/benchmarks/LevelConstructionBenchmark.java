@@ -0,0 +1,30 @@
+package game.benchmarks;
+
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to build each level (createLevel plus world setup).
+ * Assets are decoded by the first invocation and shared afterwards, like on a level transition.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LevelConstructionBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    @Benchmark
+    public GameWorld createLevel() {
+        GameWorld world = HeadlessRunner.createLevel(level);
+        world.dispose();
+        return world;
+    }
+}
@@ -0,0 +1,36 @@
+package game.benchmarks;
+
+import game.levels.LevelLayout;
+import game.levels.format.LevelBinary;
+import game.levels.format.LevelFiles;
+import game.levels.format.LevelSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a level's layout from the compiled file (memory-mapped) and from its JSON source.
+ * Run from the repository root so data/Levels is found.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LevelLoadBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    @Param({"json", "binary"})
+    public String source;
+
+    @Benchmark
+    public LevelLayout loadLayout() throws IOException {
+        return source.equals("json")
+                ? LevelSource.read(LevelFiles.sourcePath(level))
+                : LevelBinary.read(LevelFiles.binaryPath(level));
+    }
+}
@@ -0,0 +1,92 @@
+package game.benchmarks;
+
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import game.obstacles.MovingPlatform;
+import game.utils.VecMath;
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocating Vec2 expressions the per-step paths used to have with their {@link VecMath}
+ * replacements, and measures a moving platform's move. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}: the in-place variants should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class VecMathBenchmark {
+
+    private final Vec2 from = new Vec2(3.5f, -2f);
+    private final Vec2 to = new Vec2(7.25f, 4f);
+    private final Vec2 scratch = new Vec2();
+
+    /**
+     * A level with a moving platform that never reaches its limits.
+     */
+    @State(Scope.Thread)
+    public static class PlatformState {
+        private GameWorld world;
+        private MovingPlatform platform;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            world = HeadlessRunner.createLevel(1);
+            platform = new MovingPlatform(world, 6, 1, new Vec2(0, 0));
+            platform.setLeftLimit(-1000);
+            platform.setRightLimit(1000);
+            platform.startMovingHorizontally(1.5f);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            world.dispose();
+        }
+    }
+
+    @Benchmark
+    public MovingPlatform platformMove(PlatformState state) {
+        state.platform.move();
+        return state.platform;
+    }
+
+    /** The camera centre as GameView used to compute it every frame. */
+    @Benchmark
+    public Vec2 offsetAllocating() {
+        return new Vec2(from.x, from.y + 10);
+    }
+
+    @Benchmark
+    public Vec2 offsetInPlace() {
+        return VecMath.offset(from, 0, 10, scratch);
+    }
+
+    /** The pigeon's chase velocity as enterAttackMode used to compute it. */
+    @Benchmark
+    public Vec2 chaseAllocating() {
+        Vec2 direction = to.sub(from);
+        direction.normalize();
+        return direction.mul(3);
+    }
+
+    @Benchmark
+    public Vec2 chaseInPlace() {
+        return VecMath.towards(from, to, 3, scratch);
+    }
+
+    /** The thief cat's distance check as preStep used to do it. */
+    @Benchmark
+    public boolean distanceAllocating() {
+        return from.sub(to).length() > 20;
+    }
+
+    @Benchmark
+    public boolean distanceInPlace() {
+        return !VecMath.within(from, to, 20);
+    }
+}
@@ -0,0 +1,93 @@
+package game.benchmarks;
+
+import game.levels.LevelSpawner;
+import game.levels.Placement;
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import game.main.LevelStreamer;
+import game.main.WorldSnapshot;
+import game.pickups.FoodPickup;
+import game.utils.ByteDelta;
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taking a world snapshot and restoring one, on Level 1 with thousands of extra entities dropped
+ * around the Cat: food pickups (kept as used-up bits) and pigeons (kept as entity state).
+ * Restoring switches between a snapshot with every pickup and one with half of them collected,
+ * so every restore tears down or rebuilds half the pickups. Decoding a checkpoint delta between the two
+ * is measured on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WorldSnapshotBenchmark {
+
+    @Param({"1000", "5000"})
+    public int entities;
+
+    private GameWorld world;
+    private WorldSnapshot full;
+    private WorldSnapshot collected;
+    private byte[] fullBytes;
+    private byte[] delta;
+    private boolean restoreFull = false;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = HeadlessRunner.createLevel(1);
+        LevelStreamer streamer = world.getStreamer();
+        Vec2 cat = world.getCat().getPosition();
+        float spread = LevelStreamer.LOAD_DISTANCE - LevelStreamer.CHUNK_WIDTH;
+        for (int i = 0; i < entities; i++) {
+            Placement.Kind kind = i % 2 == 0 ? Placement.Kind.FOOD_PICKUP : Placement.Kind.PIGEON;
+            float x = cat.x - spread + 2 * spread * i / entities;
+            streamer.drop(kind, new Vec2(x, cat.y + 4 + i % 7));
+        }
+        streamer.update(cat.x);
+        full = WorldSnapshot.capture(world);
+
+        List<Object> pickups = new ArrayList<>();
+        for (Object entity : streamer.getLiveEntities().values()) {
+            if (entity instanceof FoodPickup && pickups.size() < entities / 4) pickups.add(entity);
+        }
+        for (Object pickup : pickups) {
+            streamer.markUsed(pickup);
+            LevelSpawner.despawn(pickup);
+        }
+        collected = WorldSnapshot.capture(world);
+        fullBytes = full.toBytes();
+        delta = ByteDelta.encode(fullBytes, collected.toBytes());
+        System.out.printf("%nSnapshots: %d bytes with every pickup, %d with half collected, %d as a delta%n",
+                full.size(), collected.size(), delta.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public WorldSnapshot capture() {
+        return WorldSnapshot.capture(world);
+    }
+
+    @Benchmark
+    public GameWorld restore() {
+        restoreFull = !restoreFull;
+        (restoreFull ? full : collected).restore(world);
+        return world;
+    }
+
+    @Benchmark
+    public byte[] decodeCheckpoint() {
+        return ByteDelta.decode(fullBytes, delta);
+    }
+}
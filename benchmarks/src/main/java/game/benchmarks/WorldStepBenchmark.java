@@ -0,0 +1,41 @@
+package game.benchmarks;
+
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures world step throughput with each level's full set of entities.
+ * The level is rebuilt for every iteration so each one starts from the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WorldStepBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    private GameWorld world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = HeadlessRunner.createLevel(level);
+        world.getCat().startWalking(20);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public void step() {
+        world.oneStep();
+    }
+}
@@ -0,0 +1,56 @@
+package game.main;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing the game view's background and foreground into an off-screen image.
+ * Lives in game.main so it can call the view's protected paint methods directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameViewBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    private GameWorld world;
+    private GameView view;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = HeadlessRunner.createLevel(level);
+        view = new GameView(world, 1200, 800, world.getCat());
+        view.setSize(1200, 800);
+        world.setGameView(view);
+        image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB_PRE);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+        world.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintBackground() {
+        view.paintBackground(g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage paintForeground() {
+        view.paintForeground(g);
+        return image;
+    }
+}
@@ -0,0 +1,240 @@
+package game.assets;
+
+import city.cs.engine.BodyImage;
+import city.cs.engine.World;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry that hands out shared image handles.
+ * Every BodyImage and AWT image is created once per (path, scale) and reused by all entities,
+ * so a level with hundreds of tiles or dozens of pigeons only decodes each file once.
+ * References are counted per level so a finished level can give its assets back.
+ * The registry knows levels only as the worlds that own references, named by {@link #nameLevel}.
+ */
+public final class AssetRegistry {
+
+    /** Scope used for images that live for the whole game (e.g. static images in entity classes). */
+    public static final String SHARED = "shared";
+
+    private static final Map<AssetKey, BodyImage> bodyImages = new ConcurrentHashMap<>();
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> decodedSizes = new ConcurrentHashMap<>();
+
+    // Reference counts for each scope (a world or SHARED), by AssetKey for body images and path for images
+    private static final Map<Object, Map<Object, Integer>> references = new IdentityHashMap<>();
+    private static final Map<Object, String> scopeNames = new IdentityHashMap<>();
+
+    private AssetRegistry() {}
+
+    /**
+     * Returns the shared BodyImage for a path and height, kept for the whole game.
+     * @param path image file path
+     * @param height height of the image in world units
+     */
+    public static BodyImage bodyImage(String path, float height) {
+        return bodyImage(SHARED, path, height);
+    }
+
+    /**
+     * Returns the shared BodyImage for a path and height and counts a reference for the owning level.
+     * @param owner the world that uses the image
+     * @param path image file path
+     * @param height height of the image in world units
+     */
+    public static BodyImage bodyImage(World owner, String path, float height) {
+        return bodyImage((Object) owner, path, height);
+    }
+
+    private static BodyImage bodyImage(Object scope, String path, float height) {
+        AssetKey key = new AssetKey(path, height);
+        addReference(scope, key);
+        return bodyImages.computeIfAbsent(key, k -> new BodyImage(k.path(), k.height()));
+    }
+
+    /**
+     * Returns a decoded AWT image for drawing directly (e.g. HUD icons), kept for the whole game.
+     * Missing files give a 1x1 transparent image so drawing code never has to null-check.
+     * @param path image file path
+     */
+    public static Image image(String path) {
+        return image(SHARED, path);
+    }
+
+    /**
+     * Returns a decoded AWT image for drawing directly (backgrounds, baked tiles) and counts a reference
+     * for the owning level, so the image is dropped with the last level that uses it.
+     * @param owner the world that uses the image
+     * @param path image file path
+     */
+    public static Image image(World owner, String path) {
+        return image((Object) owner, path);
+    }
+
+    private static Image image(Object scope, String path) {
+        addReference(scope, path);
+        return images.computeIfAbsent(path, AssetRegistry::decode);
+    }
+
+    private static void addReference(Object scope, Object key) {
+        synchronized (references) {
+            references.computeIfAbsent(scope, s -> new HashMap<>()).merge(key, 1, Integer::sum);
+        }
+    }
+
+    private static Image decode(String path) {
+        try {
+            BufferedImage image = ImageIO.read(new File(path));
+            if (image != null) {
+                DataBuffer data = image.getRaster().getDataBuffer();
+                long bytes = (long) data.getSize() * DataBuffer.getDataTypeSize(data.getDataType()) / 8;
+                decodedSizes.put(path, new long[]{image.getWidth(), image.getHeight(), bytes});
+                return image;
+            }
+        } catch (IOException e) {
+            System.out.println("Could not load image " + path + ": " + e.getMessage());
+        }
+        return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Names a level in reports.
+     * @param owner the world that holds the level's references
+     * @param name e.g. "Level1"
+     */
+    public static void nameLevel(World owner, String name) {
+        synchronized (references) {
+            scopeNames.put(owner, name);
+        }
+    }
+
+    /**
+     * Drops all references held by a level. Assets that no level uses any more are evicted.
+     * @param owner the world that is being left
+     */
+    public static void releaseLevel(World owner) {
+        synchronized (references) {
+            scopeNames.remove(owner);
+            if (references.remove(owner) == null) return;
+
+            Set<Object> inUse = new HashSet<>();
+            for (Map<Object, Integer> scope : references.values()) {
+                inUse.addAll(scope.keySet());
+            }
+            bodyImages.keySet().removeIf(key -> !inUse.contains(key));
+            images.keySet().removeIf(path -> !inUse.contains(path));
+
+            Set<String> paths = new HashSet<>(images.keySet());
+            for (AssetKey key : bodyImages.keySet()) {
+                paths.add(key.path());
+            }
+            decodedSizes.keySet().removeIf(path -> !paths.contains(path));
+        }
+    }
+
+    /**
+     * Returns how many references a level holds on each of its assets.
+     * @param owner the world to inspect
+     */
+    public static Map<String, Integer> getReferenceCounts(World owner) {
+        Map<String, Integer> counts = new TreeMap<>();
+        synchronized (references) {
+            Map<Object, Integer> scope = references.getOrDefault(owner, Collections.emptyMap());
+            for (Map.Entry<Object, Integer> entry : scope.entrySet()) {
+                counts.put(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Builds a report of every registered asset with its decoded size and reference counts per level.
+     */
+    public static String footprintReport() {
+        StringBuilder report = new StringBuilder("Asset footprint\n");
+        long total = 0;
+
+        List<AssetKey> keys = new ArrayList<>(bodyImages.keySet());
+        keys.sort(Comparator.comparing(AssetKey::path).thenComparing(AssetKey::height));
+        for (AssetKey key : keys) {
+            long bytes = decodedBytes(key.path());
+            total += bytes;
+            report.append(String.format("  %-45s %8d bytes  refs %s%n", key, bytes, describeReferences(key)));
+        }
+
+        List<String> paths = new ArrayList<>(images.keySet());
+        Collections.sort(paths);
+        for (String path : paths) {
+            long bytes = decodedBytes(path);
+            total += bytes;
+            report.append(String.format("  %-45s %8d bytes  (image) refs %s%n", path, bytes, describeReferences(path)));
+        }
+
+        report.append(String.format("  total decoded: %d bytes in %d assets%n", total, keys.size() + paths.size()));
+        return report.toString();
+    }
+
+    private static String describeReferences(Object key) {
+        StringBuilder text = new StringBuilder();
+        synchronized (references) {
+            for (Map.Entry<Object, Map<Object, Integer>> scope : references.entrySet()) {
+                Integer count = scope.getValue().get(key);
+                if (count == null) continue;
+                if (!text.isEmpty()) text.append(", ");
+                text.append(scopeName(scope.getKey())).append('=').append(count);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String scopeName(Object scope) {
+        return scopeNames.getOrDefault(scope, scope.toString());
+    }
+
+    /**
+     * Returns the decoded size (width * height * 4 for ARGB) of an image file.
+     * Only the file header is read if the image has not been decoded yet.
+     */
+    private static long decodedBytes(String path) {
+        long[] size = decodedSizes.computeIfAbsent(path, p -> {
+            try (ImageInputStream in = ImageIO.createImageInputStream(new File(p))) {
+                Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+                if (readers.hasNext()) {
+                    ImageReader reader = readers.next();
+                    try {
+                        reader.setInput(in);
+                        int width = reader.getWidth(0);
+                        int height = reader.getHeight(0);
+                        return new long[]{width, height, 4L * width * height};
+                    } finally {
+                        reader.dispose();
+                    }
+                }
+            } catch (IOException ignored) {
+                // Unreadable files are reported with a size of zero
+            }
+            return new long[]{0, 0, 0};
+        });
+        return size[2];
+    }
+
+    /**
+     * Key for an image at a particular scale.
+     */
+    private record AssetKey(String path, float height) {
+        @Override
+        public String toString() {
+            return path + " @" + height;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package game.characters;
 
 import city.cs.engine.*;
-import javax.swing.Timer;
+import game.assets.AssetRegistry;
+import game.main.GameWorld;
+import game.main.TimerWheel;
 
-import game.projectiles.RockProjectile;
 import game.utils.Destructible;
-import game.projectiles.NubellaProjectile;
+import game.utils.VecMath;
 import game.sounds.SoundEffectManager;
 import org.jbox2d.common.Vec2;
 
@@ -13,7 +14,7 @@ import org.jbox2d.common.Vec2;
  * Main player character (the Cat) that the player controls.
  * Handles movement, combat, animations, pickups, and special abilities.
  */
-public class Cat extends DynamicBody implements StepListener {
+public class Cat extends DynamicBody {
 
     /**
      * Represents different states the Cat can be in.
@@ -34,22 +35,22 @@ public class Cat extends DynamicBody implements StepListener {
     private static final Shape backRightLeg = new BoxShape(0.3f, 0.5f, new Vec2(-0.3f, -0.7f));
 
     // Cat images for different states
-    private static final BodyImage idleRight = new BodyImage("data/Characters/CatRight.png", 4f);
-    private static final BodyImage idleLeft = new BodyImage("data/Characters/CatLeft.png", 4f);
-    private static final BodyImage walk1Right = new BodyImage("data/Characters/CatWalkingRight1.png", 4f);
-    private static final BodyImage walk2Right = new BodyImage("data/Characters/CatWalkingRight2.png", 4f);
-    private static final BodyImage walk1Left = new BodyImage("data/Characters/CatWalkingLeft1.png", 4f);
-    private static final BodyImage walk2Left = new BodyImage("data/Characters/CatWalkingLeft2.png", 4f);
-    private static final BodyImage eatingRight = new BodyImage("data/Characters/CatEatingRight.png", 6f);
-    private static final BodyImage eatingLeft = new BodyImage("data/Characters/CatEatingLeft.png", 6f);
-    private static final BodyImage scratchRight1 = new BodyImage("data/Characters/CatScratchingRight1.png", 5f);
-    private static final BodyImage scratchRight2 = new BodyImage("data/Characters/CatScratchingRight2.png", 5f);
-    private static final BodyImage scratchLeft1 = new BodyImage("data/Characters/CatScratchingLeft1.png", 5f);
-    private static final BodyImage scratchLeft2 = new BodyImage("data/Characters/CatScratchingLeft2.png", 5f);
-    private static final BodyImage nubellaChargeRight = new BodyImage("data/Characters/CatChargingRight.png", 5f);
-    private static final BodyImage nubellaChargeLeft = new BodyImage("data/Characters/CatChargingLeft.png", 5f);
-    private static final BodyImage shieldingRight = new BodyImage("data/Characters/CatShieldingRight.png", 6f);
-    private static final BodyImage shieldingLeft = new BodyImage("data/Characters/CatShieldingLeft.png", 6f);
+    private static final BodyImage idleRight = AssetRegistry.bodyImage("data/Characters/CatRight.png", 4f);
+    private static final BodyImage idleLeft = AssetRegistry.bodyImage("data/Characters/CatLeft.png", 4f);
+    private static final BodyImage walk1Right = AssetRegistry.bodyImage("data/Characters/CatWalkingRight1.png", 4f);
+    private static final BodyImage walk2Right = AssetRegistry.bodyImage("data/Characters/CatWalkingRight2.png", 4f);
+    private static final BodyImage walk1Left = AssetRegistry.bodyImage("data/Characters/CatWalkingLeft1.png", 4f);
+    private static final BodyImage walk2Left = AssetRegistry.bodyImage("data/Characters/CatWalkingLeft2.png", 4f);
+    private static final BodyImage eatingRight = AssetRegistry.bodyImage("data/Characters/CatEatingRight.png", 6f);
+    private static final BodyImage eatingLeft = AssetRegistry.bodyImage("data/Characters/CatEatingLeft.png", 6f);
+    private static final BodyImage scratchRight1 = AssetRegistry.bodyImage("data/Characters/CatScratchingRight1.png", 5f);
+    private static final BodyImage scratchRight2 = AssetRegistry.bodyImage("data/Characters/CatScratchingRight2.png", 5f);
+    private static final BodyImage scratchLeft1 = AssetRegistry.bodyImage("data/Characters/CatScratchingLeft1.png", 5f);
+    private static final BodyImage scratchLeft2 = AssetRegistry.bodyImage("data/Characters/CatScratchingLeft2.png", 5f);
+    private static final BodyImage nubellaChargeRight = AssetRegistry.bodyImage("data/Characters/CatChargingRight.png", 5f);
+    private static final BodyImage nubellaChargeLeft = AssetRegistry.bodyImage("data/Characters/CatChargingLeft.png", 5f);
+    private static final BodyImage shieldingRight = AssetRegistry.bodyImage("data/Characters/CatShieldingRight.png", 6f);
+    private static final BodyImage shieldingLeft = AssetRegistry.bodyImage("data/Characters/CatShieldingLeft.png", 6f);
 
     // Private flags and counters
     private boolean facingRight = true;
@@ -64,7 +65,7 @@ public class Cat extends DynamicBody implements StepListener {
     private int scratchFrame = 0;
 
     private int nubellaCount = 0;
-    private long nubellaChargeStartTime = 0;
+    private long nubellaChargeStartStep = 0;
     private boolean showNubellaBar = false;
     private float nubellaChargeProgress = 0f; // 0.0 to 1.0
 
@@ -73,12 +74,22 @@ public class Cat extends DynamicBody implements StepListener {
 
     private boolean teleporting = false;
 
+    // Charge button state, measured in game steps
+    private static final int CHARGE_DELAY_STEPS = TimerWheel.millisToSteps(200);
+    private boolean chargeHeld = false;
+    private long chargePressStep = 0;
+
+    private final TimerWheel timers;
+    private final Vec2 velocity = new Vec2(); // Scratch for velocity changes
+
     /**
      * Creates a new Cat character in the given world.
      * @param world the game world
      */
-    public Cat(World world) {
+    public Cat(GameWorld world) {
         super(world);
+        this.timers = world.getTimers();
+        world.getSpatialIndex().add(this, true);
 
         // Build the Cat's body from shapes
         new SolidFixture(this, headShape);
@@ -91,7 +102,7 @@ public class Cat extends DynamicBody implements StepListener {
 
         addImage(idleRight);
         setGravityScale(2);
-        world.addStepListener(this);
+        world.getScheduler().register(this);
 
         currentState = State.IDLE;
     }
@@ -126,7 +137,7 @@ public class Cat extends DynamicBody implements StepListener {
     // Movement
     /** Starts walking left or right at a given speed. */
     public void startWalking(int speed) {
-        setLinearVelocity(new Vec2(speed, getLinearVelocity().y));
+        setLinearVelocity(VecMath.set(velocity, speed, getLinearVelocity().y));
         facingRight = speed > 0;
         changeState(State.WALKING);
     }
@@ -150,8 +161,10 @@ public class Cat extends DynamicBody implements StepListener {
     public void throwRock(World world) {
         float rockSpeed = facingRight ? 10 : -10;
         Vec2 rockStartPos = this.getPosition().add(new Vec2(facingRight ? 1.5f : -1.5f, 1));
-        new RockProjectile(world, rockStartPos, rockSpeed);
-        SoundEffectManager.play("data/Sounds/StoneThrow.WAV");
+        if (world instanceof GameWorld gw) {
+            gw.getProjectiles().throwRock(rockStartPos, rockSpeed);
+        }
+        SoundEffectManager.play(getWorld(), "data/Sounds/StoneThrow.WAV");
     }
 
     // Combat
@@ -162,14 +175,14 @@ public class Cat extends DynamicBody implements StepListener {
         this.scratchTarget = target;
         this.scratchCounter = 0;
 
-        SoundEffectManager.play("data/Sounds/CatScratching.WAV", true);
+        SoundEffectManager.play(getWorld(), "data/Sounds/CatScratching.WAV", true);
         changeState(State.SCRATCHING);
     }
 
     /** Stops scratching. */
     public void stopScratching() {
         if (currentState == State.SCRATCHING) {
-            SoundEffectManager.stop("data/Sounds/CatScratching.WAV");
+            SoundEffectManager.stop(getWorld(), "data/Sounds/CatScratching.WAV");
             scratchTarget = null;
             scratchCounter = 0;
             changeState(State.IDLE);
@@ -180,8 +193,8 @@ public class Cat extends DynamicBody implements StepListener {
     /** Starts charging a Nubella projectile if the cat has one. */
     public void startChargingNubella() {
         if (nubellaCount > 0 && currentState != State.CHARGING_NUBELLA) {
-            nubellaChargeStartTime = System.currentTimeMillis();
-            SoundEffectManager.play("data/Sounds/NubellaCharging.WAV", false);
+            nubellaChargeStartStep = timers.getTick();
+            SoundEffectManager.play(getWorld(), "data/Sounds/NubellaCharging.WAV", false);
             changeState(State.CHARGING_NUBELLA);
 
             showNubellaBar = true;
@@ -192,17 +205,19 @@ public class Cat extends DynamicBody implements StepListener {
     /** Releases a charged Nubella projectile based on how long the player held. */
     public void releaseNubella() {
         if (currentState == State.CHARGING_NUBELLA) {
-            SoundEffectManager.stop("data/Sounds/NubellaCharging.WAV");
+            SoundEffectManager.stop(getWorld(), "data/Sounds/NubellaCharging.WAV");
 
             if (nubellaCount > 0) {
                 nubellaCount--;
-                long held = System.currentTimeMillis() - nubellaChargeStartTime;
+                long held = heldMillis();
                 float power = Math.min(held / 100f, 20f);
                 float speed = facingRight ? power : -power;
                 Vec2 pos = getPosition().add(new Vec2(facingRight ? 2f : -2f, 3));
-                new NubellaProjectile(getWorld(), pos, speed);
+                if (getWorld() instanceof GameWorld gw) {
+                    gw.getProjectiles().fireNubella(pos, speed);
+                }
 
-                SoundEffectManager.play("data/Sounds/NubellaRelease.WAV", false);
+                SoundEffectManager.play(getWorld(), "data/Sounds/NubellaRelease.WAV", false);
             }
 
             showNubellaBar = false;
@@ -211,6 +226,31 @@ public class Cat extends DynamicBody implements StepListener {
         }
     }
 
+    /** Returns how long the Nubella has been charging, in milliseconds of game time. */
+    private long heldMillis() {
+        return (timers.getTick() - nubellaChargeStartStep) * 1000L / TimerWheel.STEPS_PER_SECOND;
+    }
+
+    /** Presses the charge button: starts charging once it has been held for a short delay. */
+    public void pressCharge() {
+        chargeHeld = true;
+        chargePressStep = timers.getTick();
+
+        timers.schedule(CHARGE_DELAY_STEPS, () -> {
+            if (chargeHeld && nubellaCount > 0) {
+                startChargingNubella();
+            }
+        });
+    }
+
+    /** Releases the charge button: throws the Nubella if it was held long enough. */
+    public void releaseCharge() {
+        chargeHeld = false;
+        if (timers.getTick() - chargePressStep >= CHARGE_DELAY_STEPS) {
+            releaseNubella();
+        }
+    }
+
     // Shielding
     /** Activates a temporary shield using the collected rug. */
     public void startShielding() {
@@ -236,12 +276,10 @@ public class Cat extends DynamicBody implements StepListener {
         if (foodCount > 0 && health < 100 && currentState != State.EATING) {
             foodCount--;
             health += 10;
-            SoundEffectManager.play("data/Sounds/eating.wav", false);
+            SoundEffectManager.play(getWorld(), "data/Sounds/eating.wav", false);
             changeState(State.EATING);
 
-            Timer eatTimer = new Timer(1000, e -> changeState(State.IDLE));
-            eatTimer.setRepeats(false);
-            eatTimer.start();
+            timers.schedule(TimerWheel.millisToSteps(1000), () -> changeState(State.IDLE));
         }
     }
 
@@ -250,9 +288,11 @@ public class Cat extends DynamicBody implements StepListener {
         health -= amount;
     }
 
-    // StepListener methods
-    @Override
-    public void preStep(StepEvent e) {
+    /**
+     * Updates the cat once per step: keeps it upright, animates it, scratches its target and fills the
+     * Nubella charge bar. Run by the world's animation phase.
+     */
+    public void update() {
         // Prevent tipping over
         if (Math.abs(this.getAngle()) > Math.PI / 3) {
             this.setAngle(0);
@@ -285,13 +325,10 @@ public class Cat extends DynamicBody implements StepListener {
                 }
             }
         }
-    }
 
-    @Override
-    public void postStep(StepEvent e) {
         // Update Nubella charge bar
         if (currentState == State.CHARGING_NUBELLA && showNubellaBar) {
-            long heldTime = System.currentTimeMillis() - nubellaChargeStartTime;
+            long heldTime = heldMillis();
             nubellaChargeProgress = Math.min(heldTime / 2000f, 1.0f); // 2 seconds full bar
         }
     }
@@ -355,6 +392,16 @@ public class Cat extends DynamicBody implements StepListener {
         this.health = count;
     }
 
+    /** Sets Nubella counter value. */
+    public void setNubellaCount(int count) {
+        this.nubellaCount = count;
+    }
+
+    /** Sets rug counter value. */
+    public void setRugCounter(int count) {
+        this.rugCounter = count;
+    }
+
     /** Sets teleporting status. */
     public void setTeleporting(boolean teleporting) {
         this.teleporting = teleporting;
@@ -379,7 +426,7 @@ public class Cat extends DynamicBody implements StepListener {
     /** Returns the charge progress for Nubella (0.0 - 1.0). */
     public float getNubellaChargeProgress() {
         if (currentState == State.CHARGING_NUBELLA) {
-            long held = System.currentTimeMillis() - nubellaChargeStartTime;
+            long held = heldMillis();
             return Math.min(held / 2000f, 1f);
         }
         return 0;
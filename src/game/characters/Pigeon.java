@@ -1,17 +1,27 @@
 package game.characters;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
+import game.main.ActivationManager;
+import game.main.GameTimer;
+import game.main.GameWorld;
+import game.main.SpatialIndex;
+import game.main.TimerWheel;
+import game.levels.Placement;
 import game.projectiles.RockProjectile;
-import game.pickups.FoodPickup;
 import game.sounds.SoundEffectManager;
+import game.utils.Activatable;
+import game.utils.Snapshottable;
+import game.utils.VecMath;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
+import java.nio.ByteBuffer;
 
 /**
  * Enemy pigeon character that moves back and forth and attacks the player if close enough.
+ * Off-screen pigeons only patrol, and far-away ones stop completely until the cat comes back.
  */
-public class Pigeon extends Walker implements CollisionListener {
+public class Pigeon extends Walker implements CollisionListener, Activatable, Snapshottable {
 
     // Shape of the pigeon
     private static final Shape pigeonShape = new PolygonShape(
@@ -19,20 +29,25 @@ public class Pigeon extends Walker implements CollisionListener {
     );
 
     // Pigeon images
-    private BodyImage pigeonRight = new BodyImage("data/Enemies/PigeonRight.png", 2f);
-    private BodyImage pigeonLeft = new BodyImage("data/Enemies/PigeonLeft.png", 2f);
-    private BodyImage pigeonAttackRight = new BodyImage("data/Enemies/PigeonAttackingRight.png", 3.5f);
-    private BodyImage pigeonAttackLeft = new BodyImage("data/Enemies/PigeonAttackingLeft.png", 3.5f);
+    private final BodyImage pigeonRight;
+    private final BodyImage pigeonLeft;
+    private final BodyImage pigeonAttackRight;
+    private final BodyImage pigeonAttackLeft;
 
     // Flags and timers
     private boolean movingRight = true;
-    private Timer moveTimer;
-    private Timer attackCheckTimer;
+    private GameTimer moveTimer;
+    private GameTimer attackCheckTimer;
+    private final TimerWheel timers;
+    private final SpatialIndex spatialIndex;
+    private final ActivationManager activation;
+    private Tier tier = Tier.FULL;
     private boolean attackCooldown = false;
     private Cat cat; // reference to player
     private static final float ATTACK_RANGE = 6f;
     private boolean attacking = false;
     private boolean destroyed = false;
+    private final Vec2 velocity = new Vec2(); // Scratch for attack mode
     private int MAX_HITS = 2;
 
     /**
@@ -41,25 +56,78 @@ public class Pigeon extends Walker implements CollisionListener {
      * @param position where to spawn the pigeon
      * @param cat reference to the player's cat
      */
-    public Pigeon(World world, Vec2 position, Cat cat) {
+    public Pigeon(GameWorld world, Vec2 position, Cat cat) {
         super(world, pigeonShape);
         this.cat = cat;
+        this.timers = world.getTimers();
+        this.spatialIndex = world.getSpatialIndex();
+        spatialIndex.add(this, true);
+        this.activation = world.getActivation();
+
+        // Shared images from the asset registry
+        pigeonRight = AssetRegistry.bodyImage(world, "data/Enemies/PigeonRight.png", 2f);
+        pigeonLeft = AssetRegistry.bodyImage(world, "data/Enemies/PigeonLeft.png", 2f);
+        pigeonAttackRight = AssetRegistry.bodyImage(world, "data/Enemies/PigeonAttackingRight.png", 3.5f);
+        pigeonAttackLeft = AssetRegistry.bodyImage(world, "data/Enemies/PigeonAttackingLeft.png", 3.5f);
+
         setPosition(position);
         addImage(pigeonRight);
         addCollisionListener(this);
 
         // Timer to switch movement direction every few seconds
-        moveTimer = new Timer(2000, e -> {
+        int movePeriod = TimerWheel.millisToSteps(2000);
+        moveTimer = timers.scheduleRepeating(movePeriod, movePeriod, () -> {
             if (!attacking) {
                 switchDirection();
             }
         });
-        moveTimer.start();
         startMoving();
 
         // Timer to keep checking if Cat is close enough to attack
-        attackCheckTimer = new Timer(500, e -> checkForAttack());
-        attackCheckTimer.start();
+        int attackCheckPeriod = TimerWheel.millisToSteps(500);
+        attackCheckTimer = timers.scheduleRepeating(attackCheckPeriod, attackCheckPeriod, this::checkForAttack);
+
+        activation.add(this);
+    }
+
+    @Override
+    public Body getBody() {
+        return this;
+    }
+
+    @Override
+    public Tier getTier() {
+        return tier;
+    }
+
+    /** Suspends or resumes the pigeon's timers as it moves between activation tiers. */
+    @Override
+    public void setTier(Tier tier) {
+        Tier previous = this.tier;
+        this.tier = tier;
+
+        switch (tier) {
+            case FULL -> {
+                moveTimer.resume();
+                attackCheckTimer.resume();
+            }
+            case REDUCED -> {
+                // The cat can't be in attack range out here, so only keep patrolling
+                moveTimer.resume();
+                attackCheckTimer.suspend();
+                exitAttackMode();
+            }
+            case ASLEEP -> {
+                moveTimer.suspend();
+                attackCheckTimer.suspend();
+                exitAttackMode();
+                setLinearVelocity(new Vec2(0, 0)); // Left at rest so the physics engine puts it to sleep
+            }
+        }
+
+        if (previous == Tier.ASLEEP && tier != Tier.ASLEEP) {
+            setLinearVelocity(new Vec2(movingRight ? 2 : -2, 0));
+        }
     }
 
     /** Starts moving in the current direction. */
@@ -87,8 +155,7 @@ public class Pigeon extends Walker implements CollisionListener {
             return;
         }
 
-        float distance = this.getPosition().sub(cat.getPosition()).length();
-        if (distance < ATTACK_RANGE) {
+        if (spatialIndex.isWithin(cat, getPosition(), ATTACK_RANGE)) {
             enterAttackMode();
         } else {
             exitAttackMode();
@@ -99,12 +166,12 @@ public class Pigeon extends Walker implements CollisionListener {
     private void enterAttackMode() {
         if (!attacking) attacking = true;
 
-        Vec2 direction = cat.getPosition().sub(this.getPosition());
-        direction.normalize();
-        setLinearVelocity(direction.mul(3));
+        Vec2 catPosition = cat.getPosition();
+        Vec2 position = getPosition();
+        setLinearVelocity(VecMath.towards(position, catPosition, 3, velocity));
 
         removeAllImages();
-        if (cat.getPosition().x > this.getPosition().x) {
+        if (catPosition.x > position.x) {
             addImage(pigeonAttackRight);
             movingRight = true;
         } else {
@@ -123,22 +190,43 @@ public class Pigeon extends Walker implements CollisionListener {
         }
     }
 
+    @Override
+    public int getStateSize() {
+        return 10;
+    }
+
+    /** Saves where the pigeon is, which way it patrols and how many hits it can still take. */
+    @Override
+    public void writeState(ByteBuffer out) {
+        Vec2 position = getPosition();
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.put((byte) (movingRight ? 1 : 0));
+        out.put((byte) MAX_HITS);
+    }
+
+    @Override
+    public void readState(ByteBuffer in) {
+        setPosition(VecMath.set(velocity, in.getFloat(), in.getFloat()));
+        boolean right = in.get() != 0;
+        MAX_HITS = in.get();
+        if (right != movingRight) {
+            switchDirection();
+        }
+    }
+
     /** Starts the attack cooldown so pigeon can't attack immediately again. */
     private void startAttackCooldown() {
         attackCooldown = true;
 
-        Timer cooldownTimer = new Timer(5000, e -> attackCooldown = false);
-        cooldownTimer.setRepeats(false);
-        cooldownTimer.start();
+        timers.schedule(TimerWheel.millisToSteps(5000), () -> attackCooldown = false);
     }
 
     /** Handles being hit by a Nubella projectile (more powerful). */
     public void nubellaHit() {
         MAX_HITS -= 2;
         if (MAX_HITS <= 0 && !destroyed) {
-            World world = this.getWorld();
-            new FoodPickup(world, this.getPosition()); // drop food
-            destroy();
+            die();
         }
     }
 
@@ -146,10 +234,17 @@ public class Pigeon extends Walker implements CollisionListener {
     public void rockHit() {
         MAX_HITS--;
         if (MAX_HITS <= 0 && !destroyed) {
-            World world = this.getWorld();
-            new FoodPickup(world, this.getPosition()); // drop food
-            destroy();
+            die();
+        }
+    }
+
+    /** Drops food and destroys the pigeon, so it doesn't come back when its part of the level reloads. */
+    private void die() {
+        if (getWorld() instanceof GameWorld gw) {
+            gw.getStreamer().markUsed(this);
+            gw.getStreamer().drop(Placement.Kind.FOOD_PICKUP, getPosition());
         }
+        destroy();
     }
 
     @Override
@@ -160,7 +255,7 @@ public class Pigeon extends Walker implements CollisionListener {
             rockHit();
         } else if (e.getOtherBody() instanceof Cat cat) {
             if (!attackCooldown) {
-                SoundEffectManager.play("data/Sounds/Hiss.WAV");
+                SoundEffectManager.play(getWorld(), "data/Sounds/Hiss.WAV");
                 cat.takeDamage(10);
                 startAttackCooldown();
                 exitAttackMode();
@@ -171,8 +266,10 @@ public class Pigeon extends Walker implements CollisionListener {
     /** Destroys the pigeon, stopping timers and marking it as dead. */
     @Override
     public void destroy() {
-        if (moveTimer != null) moveTimer.stop();
-        if (attackCheckTimer != null) attackCheckTimer.stop();
+        if (moveTimer != null) moveTimer.cancel();
+        if (attackCheckTimer != null) attackCheckTimer.cancel();
+        spatialIndex.remove(this);
+        activation.remove(this);
         super.destroy();
         this.destroyed = true;
     }
@@ -1,17 +1,20 @@
 package game.characters;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
+import game.main.ActivationManager;
 import game.main.GameWorld;
 import game.projectiles.RockProjectile;
 import game.sounds.SoundEffectManager;
+import game.utils.Activatable;
+import game.utils.VecMath;
 import org.jbox2d.common.Vec2;
-import java.util.Random;
 
 /**
  * Thief Cat enemy that sneaks towards the player, hisses, steals food, jumps over obstacles if stuck,
  * and retreats after stealing or being hit.
  */
-public class ThiefCat extends DynamicBody implements StepListener, CollisionListener {
+public class ThiefCat extends DynamicBody implements CollisionListener, Activatable {
 
     private static final Shape catShape = new BoxShape(1.2f, 0.6f);
 
@@ -19,14 +22,14 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
     private final GameWorld world;
 
     // ThiefCat images
-    private final BodyImage walkRight1 = new BodyImage("data/ThiefCat/ThiefWalkRight1.png", 4f);
-    private final BodyImage walkRight2 = new BodyImage("data/ThiefCat/ThiefWalkRight2.png", 4f);
-    private final BodyImage walkLeft1 = new BodyImage("data/ThiefCat/ThiefWalkLeft1.png", 4f);
-    private final BodyImage walkLeft2 = new BodyImage("data/ThiefCat/ThiefWalkLeft2.png", 4f);
-    private final BodyImage hissRight = new BodyImage("data/ThiefCat/HissRight.png", 4f);
-    private final BodyImage hissLeft = new BodyImage("data/ThiefCat/HissLeft.png", 4f);
-    private final BodyImage stealRight = new BodyImage("data/ThiefCat/StealRight.png", 4f);
-    private final BodyImage stealLeft = new BodyImage("data/ThiefCat/StealLeft.png", 4f);
+    private final BodyImage walkRight1;
+    private final BodyImage walkRight2;
+    private final BodyImage walkLeft1;
+    private final BodyImage walkLeft2;
+    private final BodyImage hissRight;
+    private final BodyImage hissLeft;
+    private final BodyImage stealRight;
+    private final BodyImage stealLeft;
 
     private boolean facingRight;
     private boolean isHissing = false;
@@ -38,6 +41,9 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
     private int hissDuration = 0;
     private int hitPoints = 4;
     private int stuckTimer = 0;
+    private int escapeTimer = 0;
+    private Tier tier = Tier.FULL;
+    private final Vec2 velocity = new Vec2(); // Scratch for update
 
     /**
      * Creates a ThiefCat enemy near the player.
@@ -50,17 +56,57 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
         this.world = world;
         this.cat = cat;
 
+        // Shared images from the asset registry
+        walkRight1 = AssetRegistry.bodyImage(world, "data/ThiefCat/ThiefWalkRight1.png", 4f);
+        walkRight2 = AssetRegistry.bodyImage(world, "data/ThiefCat/ThiefWalkRight2.png", 4f);
+        walkLeft1 = AssetRegistry.bodyImage(world, "data/ThiefCat/ThiefWalkLeft1.png", 4f);
+        walkLeft2 = AssetRegistry.bodyImage(world, "data/ThiefCat/ThiefWalkLeft2.png", 4f);
+        hissRight = AssetRegistry.bodyImage(world, "data/ThiefCat/HissRight.png", 4f);
+        hissLeft = AssetRegistry.bodyImage(world, "data/ThiefCat/HissLeft.png", 4f);
+        stealRight = AssetRegistry.bodyImage(world, "data/ThiefCat/StealRight.png", 4f);
+        stealLeft = AssetRegistry.bodyImage(world, "data/ThiefCat/StealLeft.png", 4f);
+
         setGravityScale(2);
 
-        float spawnX = cat.getPosition().x + (new Random().nextBoolean() ? 10 : -10);
+        float spawnX = cat.getPosition().x + (world.getRandom().nextBoolean() ? 10 : -10);
         setPosition(new Vec2(spawnX, cat.getPosition().y + 4));
         facingRight = cat.getPosition().x > spawnX;
 
         addImage(facingRight ? walkRight1 : walkLeft1);
         setLinearVelocity(new Vec2(facingRight ? 2.5f : -2.5f, 0));
 
-        world.addStepListener(this);
+        world.getScheduler().register(this);
         addCollisionListener(this);
+        world.getActivation().add(this);
+    }
+
+    @Override
+    public Body getBody() {
+        return this;
+    }
+
+    @Override
+    public Tier getTier() {
+        return tier;
+    }
+
+    /** Stops the thief where it is while it is asleep. */
+    @Override
+    public void setTier(Tier tier) {
+        this.tier = tier;
+        if (tier == Tier.ASLEEP) {
+            setLinearVelocity(new Vec2(0, 0));
+        }
+    }
+
+    /**
+     * Removes the thief from the world and from activation and step updates.
+     */
+    @Override
+    public void destroy() {
+        world.getActivation().remove(this);
+        world.getScheduler().unregister(this);
+        super.destroy();
     }
 
     /**
@@ -69,28 +115,42 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
     private void retreatAndRemove() {
         isRetreating = true;
         setLinearVelocity(new Vec2(facingRight ? -6f : 6f, 0));
+    }
 
-        world.addStepListener(new StepListener() {
-            @Override
-            public void preStep(StepEvent e) {
-                frameCounter++;
-                if (frameCounter >= 10) {
-                    frameCounter = 0;
-                    removeAllImages();
-                    addImage(facingRight ? (walkFrame == 0 ? walkRight1 : walkRight2)
-                            : (walkFrame == 0 ? walkLeft1 : walkLeft2));
-                    walkFrame = 1 - walkFrame;
-                }
-                if (Math.abs(getPosition().x - cat.getPosition().x) > 20) {
-                    destroy();
-                    world.removeStepListener(this);
-                }
-            }
+    /**
+     * Animates the retreat and removes the thief once it is far enough from the cat.
+     */
+    private void retreat() {
+        frameCounter++;
+        if (frameCounter >= 10) {
+            frameCounter = 0;
+            removeAllImages();
+            addImage(facingRight ? (walkFrame == 0 ? walkRight1 : walkRight2)
+                    : (walkFrame == 0 ? walkLeft1 : walkLeft2));
+            walkFrame = 1 - walkFrame;
+        }
+        if (Math.abs(getPosition().x - cat.getPosition().x) > 20) {
+            destroy();
+        }
+    }
 
-            @Override
-            public void postStep(StepEvent e) {
-            }
-        });
+    /**
+     * Runs off with the stolen food and disappears after a while.
+     */
+    private void escape() {
+        setLinearVelocity(VecMath.set(velocity, facingRight ? -6f : 6f, 0));
+        escapeTimer++;
+
+        // Add the walking image after stealing
+        if (escapeTimer == 1) {
+            removeAllImages();
+            addImage(facingRight ? walkRight1 : walkLeft1);
+            setLinearVelocity(VecMath.set(velocity, facingRight ? 2.5f : -2.5f, 0));
+        }
+
+        if (escapeTimer >= 150) { // Disappear after ~3 seconds
+            destroy();
+        }
     }
 
     /**
@@ -113,8 +173,27 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
         }
     }
 
-    @Override
-    public void preStep(StepEvent e) {
+    /**
+     * Updates the thief once per step. Run by the world's AI phase.
+     */
+    public void update() {
+        if (ActivationManager.isUpdateStep(tier, world.getStep())) {
+            chase();
+            if (getWorld() == null) return; // Destroyed
+        }
+        // Escaping and retreating run every step, whatever the tier
+        if (isStealing) {
+            escape();
+        }
+        if (isRetreating && getWorld() != null) {
+            retreat();
+        }
+    }
+
+    /**
+     * Sneaks towards the cat, hisses now and then and jumps when stuck.
+     */
+    private void chase() {
         // Auto-destroy if falls below platform
         if (getPosition().y < -20) {
             destroy();
@@ -122,7 +201,7 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
         }
 
         // Destroy if far away from cat
-        if (cat != null && getPosition().sub(cat.getPosition()).length() > 20) {
+        if (cat != null && !VecMath.within(getPosition(), cat.getPosition(), 20)) {
             destroy();
             return;
         }
@@ -145,7 +224,7 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
                 hissDuration = 0;
                 removeAllImages();
                 addImage(facingRight ? hissRight : hissLeft);
-                SoundEffectManager.play("data/Sounds/Hiss.wav", false);
+                SoundEffectManager.play(getWorld(), "data/Sounds/Hiss.wav", false);
                 return;
             }
         } else {
@@ -162,7 +241,7 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
         // Move towards player
         float speed = (catPos.x > myPos.x) ? 2.5f : -2.5f;
         facingRight = speed > 0;
-        setLinearVelocity(new Vec2(speed, getLinearVelocity().y));
+        setLinearVelocity(VecMath.set(velocity, speed, getLinearVelocity().y));
 
         // Check if stuck
         if (Math.abs(getLinearVelocity().x) < 0.3f) {
@@ -172,7 +251,7 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
                 return;
             }
             if (stuckTimer % 50 == 0) { // Every 2.5s, jump
-                applyImpulse(new Vec2(facingRight ? 20f : -20f, 25f));
+                applyImpulse(VecMath.set(velocity, facingRight ? 20f : -20f, 25f));
             }
         } else {
             stuckTimer = 0;
@@ -189,12 +268,6 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
         }
     }
 
-
-    @Override
-    public void postStep(StepEvent stepEvent) {
-
-    }
-
     @Override
     public void collide(CollisionEvent e) {
         if (isRetreating) return;
@@ -210,37 +283,10 @@ public class ThiefCat extends DynamicBody implements StepListener, CollisionList
             isStealing = true;
             removeAllImages();
             addImage(facingRight ? stealRight : stealLeft);
-            SoundEffectManager.play("data/Sounds/NomNom.wav", false);
+            SoundEffectManager.play(getWorld(), "data/Sounds/NomNom.wav", false);
 
             cat.setFoodCount(Math.max(0, cat.getFoodCount() - 1));
-
-            // After stealing, resume moving
-            world.addStepListener(new StepListener() {
-                int timer = 0;
-
-                @Override
-                public void preStep(StepEvent e) {
-                    setLinearVelocity(new Vec2(facingRight ? -6f : 6f, 0));
-                    timer++;
-
-                    // Add the walking image after stealing
-                    if (timer == 1) {
-                        removeAllImages();
-                        addImage(facingRight ? walkRight1 : walkLeft1);
-                        setLinearVelocity(new Vec2(facingRight ? 2.5f : -2.5f, 0));
-                    }
-
-
-                    if (timer >= 150) { // Disappear after ~3 seconds
-                        destroy();
-                        world.removeStepListener(this);
-                    }
-                }
-
-                @Override
-                public void postStep(StepEvent e) {
-                }
-            });
+            // After stealing, update() makes it run off
         }
 
     }
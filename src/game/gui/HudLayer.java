@@ -0,0 +1,168 @@
+package game.gui;
+
+import game.assets.AssetRegistry;
+import game.characters.Cat;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+/**
+ * Retained HUD drawn on top of the game view (health, food, Nubella and rug panels plus the pause button).
+ * Each panel is kept in a cached image and only redrawn when the counter it shows changes,
+ * so a normal frame is just a handful of image blits.
+ */
+public class HudLayer {
+    private static final Color PANEL_COLOR = new Color(115, 101, 101, 252);
+    private static final Font HUD_FONT = loadFont();
+
+    private static final int PANEL_WIDTH = 200;
+    private static final int PANEL_HEIGHT = 50;
+    private static final int PANEL_IMAGE_HEIGHT = 56; // rug icon hangs slightly below its panel
+    private static final int PANEL_SPACING = 60;
+    private static final int ICON_SIZE = 30;
+
+    // Panel order, top to bottom
+    private static final int HEALTH = 0;
+    private static final int FOOD = 1;
+    private static final int NUBELLA = 2;
+    private static final int RUG = 3;
+
+    private final Rectangle pauseButtonBounds;
+    private final Image[] icons = new Image[4];
+    private final BufferedImage[] panels = new BufferedImage[4];
+    private final int[] shownValues = new int[4];
+    private BufferedImage pauseButton;
+
+    private int frameRedraws = 0;
+    private long totalRedraws = 0;
+
+    /**
+     * Creates the HUD and loads its icons once.
+     * @param pauseButtonBounds screen area of the pause button
+     */
+    public HudLayer(Rectangle pauseButtonBounds) {
+        this.pauseButtonBounds = pauseButtonBounds;
+        icons[FOOD] = AssetRegistry.image("data/Pigeon/Food.png");
+        icons[NUBELLA] = AssetRegistry.image("data/Weapons/nubella.png");
+        icons[RUG] = AssetRegistry.image("data/Props/rugIcon.png");
+    }
+
+    /**
+     * Loads the pixel font used by the HUD, falling back to Monospaced.
+     */
+    private static Font loadFont() {
+        try {
+            return Font.createFont(Font.TRUETYPE_FONT, new File("data/Fonts/victor-pixel.ttf")).deriveFont(30f);
+        } catch (Exception e) {
+            return new Font("Monospaced", Font.BOLD, 20);
+        }
+    }
+
+    /**
+     * Returns the font the HUD is drawn with.
+     */
+    public Font getFont() {
+        return HUD_FONT;
+    }
+
+    /**
+     * Draws the HUD, redrawing only the panels whose counters changed since the last frame.
+     * @param g graphics of the game view
+     * @param cat the cat whose counters are shown
+     * @param screenWidth current width of the view
+     */
+    public void paint(Graphics2D g, Cat cat, int screenWidth) {
+        frameRedraws = 0;
+
+        if (pauseButton == null) {
+            pauseButton = g.getDeviceConfiguration().createCompatibleImage(
+                    pauseButtonBounds.width, pauseButtonBounds.height, Transparency.TRANSLUCENT);
+            drawPauseButton();
+            frameRedraws++;
+        }
+        g.drawImage(pauseButton, pauseButtonBounds.x, pauseButtonBounds.y, null);
+
+        refresh(g, HEALTH, cat.getHealth());
+        refresh(g, FOOD, cat.getFoodCount());
+        refresh(g, NUBELLA, cat.getNubellaCount());
+        refresh(g, RUG, cat.getRugCounter());
+
+        int x = screenWidth - 210;
+        for (int i = 0; i < panels.length; i++) {
+            g.drawImage(panels[i], x, 10 + i * PANEL_SPACING, null);
+        }
+
+        totalRedraws += frameRedraws;
+    }
+
+    /**
+     * Redraws a panel if its value changed (or it was never drawn).
+     */
+    private void refresh(Graphics2D g, int panel, int value) {
+        if (panels[panel] != null && shownValues[panel] == value) return;
+
+        if (panels[panel] == null) {
+            panels[panel] = g.getDeviceConfiguration().createCompatibleImage(
+                    PANEL_WIDTH, PANEL_IMAGE_HEIGHT, Transparency.TRANSLUCENT);
+        }
+        shownValues[panel] = value;
+        drawPanel(panel, value);
+        frameRedraws++;
+    }
+
+    /**
+     * Renders one counter panel into its cached image.
+     */
+    private void drawPanel(int panel, int value) {
+        Graphics2D pg = panels[panel].createGraphics();
+        pg.setComposite(AlphaComposite.Clear);
+        pg.fillRect(0, 0, PANEL_WIDTH, PANEL_IMAGE_HEIGHT);
+        pg.setComposite(AlphaComposite.SrcOver);
+
+        pg.setColor(PANEL_COLOR);
+        pg.fillRoundRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT, 15, 15);
+        pg.setColor(Color.WHITE);
+        pg.setFont(HUD_FONT);
+
+        switch (panel) {
+            case HEALTH -> pg.drawString("Health: " + value, 10, 30);
+            case RUG -> {
+                pg.drawImage(icons[RUG], 10, 5, ICON_SIZE + 20, ICON_SIZE + 20, null);
+                pg.drawString("x" + value, ICON_SIZE + 50, 35);
+            }
+            default -> {
+                pg.drawImage(icons[panel], 10, 5, ICON_SIZE, ICON_SIZE, null);
+                pg.drawString("x" + value, ICON_SIZE + 50, 35);
+            }
+        }
+        pg.dispose();
+    }
+
+    /**
+     * Renders the pause button into its cached image.
+     */
+    private void drawPauseButton() {
+        Graphics2D pg = pauseButton.createGraphics();
+        pg.setColor(PANEL_COLOR);
+        pg.fillRoundRect(0, 0, pauseButtonBounds.width, pauseButtonBounds.height, 15, 15);
+        pg.setColor(Color.WHITE);
+        pg.setFont(HUD_FONT);
+        pg.drawString("Pause", 25, 30);
+        pg.dispose();
+    }
+
+    /**
+     * Returns how many HUD images had to be redrawn during the last frame.
+     */
+    public int getFrameRedraws() {
+        return frameRedraws;
+    }
+
+    /**
+     * Returns how many HUD images have been redrawn since the HUD was created.
+     */
+    public long getTotalRedraws() {
+        return totalRedraws;
+    }
+}
@@ -17,7 +17,8 @@ public class LevelTransitionPanel extends JPanel {
     private boolean fadingIn = true;
     private final Timer timer;
     private final Runnable onFadeComplete;
-    private Font pixelFont;
+    private final Font pixelFont;
+    private static Font loadedFont; // Loaded once, a transition shouldn't wait on the font file
 
     /**
      * Creates a LevelTransitionPanel and starts the fade animation.
@@ -29,14 +30,7 @@ public class LevelTransitionPanel extends JPanel {
         setOpaque(false);
         setBounds(0, 0, 1200, 800);
 
-        // Load custom pixel font
-        try {
-            File fontFile = new File("data/Fonts/victor-pixel.ttf");
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(50f);
-        } catch (FontFormatException | IOException e) {
-            System.out.println("Could not load pixel font. Falling back.");
-            pixelFont = new Font("Monospaced", Font.BOLD, 48);
-        }
+        pixelFont = loadFont();
 
         // Timer to handle fade in and fade out
         timer = new Timer(120, new ActionListener() {
@@ -67,6 +61,22 @@ public class LevelTransitionPanel extends JPanel {
         timer.start();
     }
 
+    /**
+     * Loads the custom pixel font the first time it is needed.
+     */
+    static synchronized Font loadFont() {
+        if (loadedFont == null) {
+            try {
+                File fontFile = new File("data/Fonts/victor-pixel.ttf");
+                loadedFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(50f);
+            } catch (FontFormatException | IOException e) {
+                System.out.println("Could not load pixel font. Falling back.");
+                loadedFont = new Font("Monospaced", Font.BOLD, 48);
+            }
+        }
+        return loadedFont;
+    }
+
     /**
      * Paints the black fade screen and shows "LEVEL COMPLETE!" during fade-in.
      */
@@ -0,0 +1,110 @@
+package game.gui;
+
+import game.inputs.CatController;
+import game.inputs.MouseHandler;
+import game.levels.Level2;
+import game.levels.Level3;
+import game.main.GameView;
+import game.main.GameWorld;
+import game.main.LevelListener;
+import game.main.LevelPreloader;
+import game.sounds.MusicManager;
+
+import javax.swing.*;
+
+/**
+ * Moves the game window on to the next level (or the final scene) when a level is completed.
+ * The next level is built in the background while the current one is played (see {@link LevelPreloader}),
+ * so the transition panel only swaps in the ready world, its music and a new view.
+ */
+public class LevelTransitions implements LevelListener {
+    private final JFrame frame;
+    private LevelPreloader preloader;
+
+    /**
+     * Creates the level transition handler for a game window.
+     * @param frame the main game frame
+     */
+    public LevelTransitions(JFrame frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Starts handling a level: listens for its completion and preloads the level after it.
+     */
+    public void watch(GameWorld world) {
+        world.addLevelListener(this);
+        preloader = switch (world.getLevelNumber() + 1) {
+            case 2 -> new LevelPreloader(world, () -> new Level2(frame), "data/Sounds/BackgroundLevel2.WAV");
+            case 3 -> new LevelPreloader(world, () -> new Level3(frame), "data/Sounds/BackgroundLevel3.WAV");
+            default -> null; // The final scene follows
+        };
+        if (preloader != null) {
+            // Leaving the level any other way (e.g. to the main menu) throws away the preloaded one
+            world.getScope().register("level preloader", preloader::cancel);
+        }
+    }
+
+    /**
+     * Gets the preloader of the level after the one being watched, or null after the last level.
+     */
+    public LevelPreloader getPreloader() {
+        return preloader;
+    }
+
+    /**
+     * Plays the transition and swaps in the next level once the screen has faded out.
+     */
+    @Override
+    public void levelCompleted(GameWorld currentWorld) {
+        long completedAt = System.nanoTime();
+        LevelPreloader next = preloader;
+        MusicManager.fadeOutAndStop();
+
+        SwingUtilities.invokeLater(() -> {
+            LevelTransitionPanel transition = new LevelTransitionPanel(frame, () -> {
+                if (next == null) {
+                    currentWorld.dispose();
+                    FinalScenePanel finalScene = new FinalScenePanel(frame);
+                    frame.setContentPane(finalScene);
+                    frame.revalidate();
+                    frame.repaint();
+                    return;
+                }
+
+                long swapStart = System.nanoTime();
+                boolean wasReady = next.isReady();
+                GameWorld newWorld = next.take();
+                MusicManager.fadeIn(next.takeMusic());
+
+                currentWorld.dispose();
+                newWorld.getCat().setHealth(currentWorld.getCat().getHealth());
+                newWorld.getCat().setFoodCount(currentWorld.getCat().getFoodCount());
+                watch(newWorld);
+
+                GameView view = new GameView(newWorld, 1200, 800, newWorld.getCat());
+                newWorld.setGameView(view);
+                view.addKeyListener(new CatController(newWorld.getCat(), newWorld, view, frame));
+                view.addMouseListener(new MouseHandler(newWorld, view, newWorld.getCat()));
+                view.onFirstFrame(() -> {
+                    long now = System.nanoTime();
+                    System.out.printf("Level %d: first frame %.0f ms after completion, %.1f ms after the fade (%s)%n",
+                            newWorld.getLevelNumber(), (now - completedAt) / 1e6, (now - swapStart) / 1e6,
+                            wasReady ? String.format("preloaded in %.0f ms", next.getBuildMillis())
+                                    : "not preloaded in time");
+                });
+
+                frame.setContentPane(view);
+                frame.revalidate();
+                frame.repaint();
+                view.requestFocusInWindow();
+
+                newWorld.start();
+                view.add(new LevelTransitionPanel(frame, () -> {}));
+            });
+
+            frame.getLayeredPane().add(transition, JLayeredPane.DRAG_LAYER);
+            transition.repaint();
+        });
+    }
+}
@@ -4,12 +4,15 @@ import city.cs.engine.DebugViewer;
 import game.inputs.MouseHandler;
 import game.sounds.MusicManager;
 import game.inputs.CatController;
+import game.inputs.InputRecorder;
 import game.levels.Level1;
 import game.levels.Level2;
 import game.levels.Level3;
 import game.main.GameState;
 import game.main.GameView;
 import game.main.GameWorld;
+import game.main.SaveJournal;
+import game.main.WorldSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,6 +20,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.Random;
 
 /**
  * The Main Menu screen where the player can start a new game or load a saved game.
@@ -62,6 +66,81 @@ public class MainMenu extends JPanel {
         createLoadGameButton("", 440, 670);
 
         MusicManager.fadeIn("data/Sounds/MainMenuMusic.wav", true);
+
+        // A journal that wasn't closed means the last session ended without leaving its level
+        SaveJournal.Recovery recovery = SaveJournal.recover();
+        if (recovery != null) {
+            SwingUtilities.invokeLater(() -> offerRecovery(recovery));
+        }
+    }
+
+    /**
+     * Asks whether to continue the progress recorded in the autosave journal, and continues it if so.
+     */
+    private void offerRecovery(SaveJournal.Recovery recovery) {
+        int answer = JOptionPane.showConfirmDialog(frame,
+                "The last game didn't end normally. Continue where you left off?",
+                "Recover", JOptionPane.YES_NO_OPTION);
+        if (answer != JOptionPane.YES_OPTION) {
+            SaveJournal.discard();
+            return;
+        }
+
+        if (recovery.isLevelCompleted()) {
+            if (recovery.getLevelNumber() < 3) {
+                startGame(recovery.getLevelNumber() + 1);
+            }
+            return;
+        }
+        GameWorld world = createWorld(recovery.getLevelNumber());
+        if (world == null) return;
+        try {
+            recovery.apply(world);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Could not recover the level: " + e.getMessage());
+        }
+        play(world);
+    }
+
+    /**
+     * Creates a level to continue, and starts its music.
+     * @return the level's world, or null if there is no such level
+     */
+    private GameWorld createWorld(int level) {
+        return switch (level) {
+            case 1 -> {
+                MusicManager.fadeIn("data/Sounds/BackgroundLevel1.WAV", true);
+                yield new Level1(frame);
+            }
+            case 2 -> {
+                MusicManager.fadeIn("data/Sounds/BackgroundLevel2.WAV", true);
+                yield new Level2(frame);
+            }
+            case 3 -> {
+                MusicManager.fadeIn("data/Sounds/BackgroundLevel3.WAV", true);
+                yield new Level3(frame);
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Shows a continued level and starts it.
+     */
+    private void play(GameWorld world) {
+        GameView view = new GameView(world, 1200, 800, world.getCat());
+        world.setGameView(view);
+        new LevelTransitions(frame).watch(world);
+        view.addKeyListener(new CatController(world.getCat(), world, view, frame));
+        view.addMouseListener(new MouseHandler(world, view, world.getCat()));
+
+        frame.setContentPane(view);
+        frame.revalidate();
+        frame.repaint();
+        frame.setVisible(true);
+        view.requestFocusInWindow();
+
+        world.start();
     }
 
     /**
@@ -103,47 +182,27 @@ public class MainMenu extends JPanel {
         button.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                File file = new File("data/Save/save.txt");
-                if (file.exists()) {
-                    GameState.GameData data = GameState.loadGame(file);
+                if (GameState.hasSave()) {
+                    GameState.GameData data = GameState.loadGame();
                     if (data != null) {
-                        GameWorld world;
-                        switch (data.level) {
-                            case 1 -> {
-                                world = new Level1(frame);
-                                MusicManager.fadeIn("data/Sounds/BackgroundLevel1.WAV", true);
-                            }
-                            case 2 -> {
-                                world = new Level2(frame);
-                                MusicManager.fadeIn("data/Sounds/BackgroundLevel2.WAV", true);
-                            }
-                            case 3 -> {
-                                world = new Level3(frame);
-                                MusicManager.fadeIn("data/Sounds/BackgroundLevel3.WAV", true);
-                            }
-                            default -> {
-                                JOptionPane.showMessageDialog(frame, "Invalid level in save file.");
-                                return;
-                            }
+                        GameWorld world = createWorld(data.level);
+                        if (world == null) {
+                            JOptionPane.showMessageDialog(frame, "Invalid level in save file.");
+                            return;
                         }
 
                         // Load player's previous data
                         world.getCat().setHealth(data.lives);
                         world.getCat().setFoodCount(data.score);
                         world.getCat().setPosition(new org.jbox2d.common.Vec2(data.catX, data.catY));
-
-                        GameView view = new GameView(world, 1200, 800, world.getCat());
-                        world.setGameView(view);
-                        view.addKeyListener(new CatController(world.getCat(), world, view, frame));
-                        view.addMouseListener(new MouseHandler(world, view, world.getCat()));
-
-                        frame.setContentPane(view);
-                        frame.revalidate();
-                        frame.repaint();
-                        frame.setVisible(true);
-                        view.requestFocusInWindow();
-
-                        world.start();
+                        if (data.snapshot != null) {
+                            try {
+                                WorldSnapshot.fromBytes(data.snapshot).restore(world);
+                            } catch (IllegalArgumentException ex) {
+                                System.out.println("Could not restore the saved level state: " + ex.getMessage());
+                            }
+                        }
+                        play(world);
                     }
                 } else {
                     JOptionPane.showMessageDialog(frame, "No save file found.");
@@ -161,18 +220,20 @@ public class MainMenu extends JPanel {
 
         MusicManager.fadeOutAndStop();
 
+        // -Dgame.seed fixes the level's random numbers, e.g. to reproduce a recorded session
+        long seed = Long.getLong("game.seed", new Random().nextLong());
         GameWorld world = switch (level) {
             case 1 -> {
                 MusicManager.fadeIn("data/Sounds/BackgroundLevel1.wav", true);
-                yield new Level1(frame);
+                yield new Level1(frame, seed);
             }
             case 2 -> {
                 MusicManager.fadeIn("data/Sounds/BackgroundLevel2.wav", true);
-                yield new Level2(frame);
+                yield new Level2(frame, seed);
             }
             case 3 -> {
                 MusicManager.fadeIn("data/Sounds/BackgroundLevel3.wav", true);
-                yield new Level3(frame);
+                yield new Level3(frame, seed);
             }
             default -> null;
         };
@@ -184,6 +245,7 @@ public class MainMenu extends JPanel {
 
         GameView view = new GameView(world, 1200, 800, world.getCat());
         world.setGameView(view);
+        new LevelTransitions(frame).watch(world);
         view.addKeyListener(new CatController(world.getCat(), world, view, frame));
         view.addMouseListener(new MouseHandler(world, view, world.getCat()));
 
@@ -193,9 +255,30 @@ public class MainMenu extends JPanel {
         frame.setVisible(true);
         view.requestFocusInWindow();
 
+        // -Dgame.record=<file> records the session's inputs for ReplayPlayer
+        String recordPath = System.getProperty("game.record");
+        if (recordPath != null) {
+            startRecording(world, new File(recordPath));
+        }
+
         world.start();
     }
 
+    /**
+     * Records every input of the level into a file until the level is completed or the game exits.
+     */
+    private void startRecording(GameWorld world, File file) {
+        try {
+            InputRecorder recorder = new InputRecorder(file, world);
+            world.setInputRecorder(recorder);
+            world.addLevelListener(recorder::finish);
+            world.getScope().register("input recording", recorder::close);
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+        } catch (IOException e) {
+            System.out.println("Could not start recording: " + e.getMessage());
+        }
+    }
+
     /**
      * Draws the main menu background.
      */
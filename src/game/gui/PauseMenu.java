@@ -3,6 +3,7 @@ package game.gui;
 import game.main.GameState;
 import game.main.GameView;
 import game.main.GameWorld;
+import game.main.WorldSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
@@ -62,24 +63,32 @@ public class PauseMenu extends JPanel {
             view.requestFocusInWindow();
         });
 
-        // Save the game when Save Game is clicked
+        // Save the game when Save Game is clicked; the file is written in the background
         saveBtn.addActionListener(e -> {
-            File file = new File("data/Save/save.txt");
-
-            GameState.saveGame(
+            GameState.GameData data = new GameState.GameData(
                     world.getLevelNumber(),
                     world.getCat().getFoodCount(),
                     world.getCat().getHealth(),
                     world.getCat().getPosition().x,
                     world.getCat().getPosition().y,
-                    file
+                    WorldSnapshot.capture(world).toBytes()
             );
 
-            JOptionPane.showMessageDialog(this, "Game Saved Successfully!", "Save", JOptionPane.INFORMATION_MESSAGE);
+            saveBtn.setEnabled(false);
+            GameState.saveGame(data, GameState.SAVE_FILE).whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+                saveBtn.setEnabled(true);
+                if (error == null) {
+                    JOptionPane.showMessageDialog(this, "Game Saved Successfully!", "Save", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    System.out.println("Save failed: " + error.getCause());
+                    JOptionPane.showMessageDialog(this, "The game could not be saved.", "Save", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
         });
 
         // Return to Main Menu when Main Menu is clicked
         mainMenuBtn.addActionListener(e -> {
+            world.dispose();
             frame.getContentPane().removeAll();
             frame.setContentPane(new MainMenu(frame));
             frame.revalidate();
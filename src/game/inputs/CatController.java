@@ -41,23 +41,23 @@ public class CatController implements KeyListener {
 
         // Move right
         if (code == KeyEvent.VK_RIGHT) {
-            cat.startWalking(20);
+            world.queueInput(InputAction.WALK_RIGHT);
         }
         // Move left
         else if (code == KeyEvent.VK_LEFT) {
-            cat.startWalking(-10);
+            world.queueInput(InputAction.WALK_LEFT);
         }
         // Jump
         else if (code == KeyEvent.VK_UP) {
-            cat.jump(20);
+            world.queueInput(InputAction.JUMP);
         }
         // Throw rock
         else if (code == KeyEvent.VK_SPACE) {
-            cat.throwRock(cat.getWorld());
+            world.queueInput(InputAction.THROW_ROCK);
         }
         // Eat food
         if (code == KeyEvent.VK_E) {
-            cat.eatFood();
+            world.queueInput(InputAction.EAT);
         }
         // Pause game
         if (code == KeyEvent.VK_P) {
@@ -69,7 +69,7 @@ public class CatController implements KeyListener {
         }
         // Start shielding
         else if (e.getKeyCode() == KeyEvent.VK_S) {
-            cat.startShielding();
+            world.queueInput(InputAction.START_SHIELD);
         }
     }
 
@@ -79,11 +79,11 @@ public class CatController implements KeyListener {
 
         // Stop moving when keys released
         if (code == KeyEvent.VK_RIGHT || code == KeyEvent.VK_LEFT) {
-            cat.stopWalking();
+            world.queueInput(InputAction.STOP_WALKING);
         }
         // Stop shielding
         else if (e.getKeyCode() == KeyEvent.VK_S) {
-            cat.stopShielding();
+            world.queueInput(InputAction.STOP_SHIELD);
         }
     }
 }
@@ -0,0 +1,64 @@
+package game.inputs;
+
+import game.characters.Cat;
+import game.main.GameWorld;
+import game.obstacles.CardboardBox;
+
+/**
+ * Every gameplay action the player can trigger, independent of where the input comes from
+ * (keyboard, mouse, or a scripted run without a window).
+ * Actions are queued on the world and applied at the start of the next step, so a session
+ * can be recorded and replayed exactly.
+ */
+public enum InputAction {
+    WALK_RIGHT,
+    WALK_LEFT,
+    STOP_WALKING,
+    JUMP,
+    THROW_ROCK,
+    EAT,
+    START_SHIELD,
+    STOP_SHIELD,
+    SCRATCH,
+    PRESS_CHARGE,
+    RELEASE_CHARGE;
+
+    private static final InputAction[] VALUES = values();
+
+    /**
+     * Returns the action with the given ordinal, as stored in input recordings.
+     */
+    public static InputAction fromId(int id) {
+        return VALUES[id];
+    }
+
+    /**
+     * Performs the action on the cat.
+     * @param cat the player's cat
+     * @param world the world the cat is in
+     */
+    public void apply(Cat cat, GameWorld world) {
+        switch (this) {
+            case WALK_RIGHT -> cat.startWalking(20);
+            case WALK_LEFT -> cat.startWalking(-10);
+            case STOP_WALKING -> cat.stopWalking();
+            case JUMP -> cat.jump(20);
+            case THROW_ROCK -> cat.throwRock(world);
+            case EAT -> cat.eatFood();
+            case START_SHIELD -> cat.startShielding();
+            case STOP_SHIELD -> cat.stopShielding();
+            case SCRATCH -> {
+                // Scratch the nearest cardboard box in reach
+                if (!cat.isScratching() && !cat.isChargingNubella()) {
+                    CardboardBox box = world.getSpatialIndex().nearest(
+                            cat.getPosition(), 5f, CardboardBox.class, b -> !b.isDestroyed());
+                    if (box != null) {
+                        cat.startScratching(box);
+                    }
+                }
+            }
+            case PRESS_CHARGE -> cat.pressCharge();
+            case RELEASE_CHARGE -> cat.releaseCharge();
+        }
+    }
+}
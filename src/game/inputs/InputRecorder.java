@@ -0,0 +1,105 @@
+package game.inputs;
+
+import city.cs.engine.DynamicBody;
+import game.main.GameWorld;
+
+import java.io.*;
+
+/**
+ * Records the input actions applied to a world, step by step, into a compact binary file.
+ *
+ * <p>Format: the magic {@code CATR}, a version byte, the level number byte and the world's seed (long),
+ * followed by one record per action: the number of steps since the previous record as a varint and the
+ * action id as one byte. Closing the recording writes an end record with the final step and a checksum
+ * of the world state, which {@link ReplayPlayer} uses to check the replay matched.</p>
+ */
+public class InputRecorder implements Closeable {
+    static final int MAGIC = 0x43415452; // "CATR"
+    static final int VERSION = 1;
+    static final int END_MARKER = 0xFF;
+
+    private final DataOutputStream out;
+    private long lastStep = 0;
+    private boolean closed = false;
+
+    /**
+     * Starts a recording for a world.
+     * @param file file to write
+     * @param world the world being recorded (its level and seed go into the header)
+     */
+    public InputRecorder(File file, GameWorld world) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(world.getLevelNumber());
+        out.writeLong(world.getSeed());
+        out.flush();
+    }
+
+    /**
+     * Records one action applied at the start of a step. Runs on the step thread, so it only writes
+     * to the buffer; the file is written as the buffer fills and when the recording is finished or closed.
+     */
+    public synchronized void record(long step, InputAction action) {
+        if (closed) return;
+        try {
+            writeVarint(step - lastStep);
+            out.writeByte(action.ordinal());
+            lastStep = step;
+        } catch (IOException e) {
+            System.out.println("Failed to record input: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the recording with the world's final step and state checksum.
+     */
+    public synchronized void finish(GameWorld world) {
+        if (closed) return;
+        try {
+            writeVarint(world.getStep() - lastStep);
+            out.writeByte(END_MARKER);
+            out.writeInt(checksum(world));
+        } catch (IOException e) {
+            System.out.println("Failed to finish recording: " + e.getMessage());
+        }
+        close();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close recording: " + e.getMessage());
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Hashes the state that matters for a replay: the cat's counters and every dynamic body's motion.
+     */
+    public static int checksum(GameWorld world) {
+        int hash = 17;
+        hash = 31 * hash + world.getCat().getHealth();
+        hash = 31 * hash + world.getCat().getFoodCount();
+        hash = 31 * hash + world.getCat().getNubellaCount();
+        hash = 31 * hash + world.getCat().getRugCounter();
+        for (DynamicBody body : world.getDynamicBodies()) {
+            hash = 31 * hash + Float.floatToIntBits(body.getPosition().x);
+            hash = 31 * hash + Float.floatToIntBits(body.getPosition().y);
+            hash = 31 * hash + Float.floatToIntBits(body.getLinearVelocity().x);
+            hash = 31 * hash + Float.floatToIntBits(body.getLinearVelocity().y);
+        }
+        return hash;
+    }
+}
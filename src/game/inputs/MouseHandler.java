@@ -4,9 +4,6 @@ import game.gui.PauseMenu;
 import game.characters.Cat;
 import game.main.GameView;
 import game.main.GameWorld;
-import game.obstacles.CardboardBox;
-import game.utils.Destructible;
-import org.jbox2d.common.Vec2;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,15 +12,13 @@ import java.awt.event.MouseListener;
 
 /**
  * Handles mouse inputs like scratching cardboard, charging nubella, and pausing the game.
+ * Gameplay actions are queued on the world and applied at the next step.
  */
 public class MouseHandler implements MouseListener {
 
     private final GameWorld world;
     private final GameView view;
     private final Cat cat;
-    public static boolean isMouseDown = false;
-    private long mousePressTime;
-    private final long CHARGE_DELAY = 200; // milliseconds before charging starts
 
     /**
      * Creates a MouseHandler for the Cat character and game world.
@@ -55,44 +50,19 @@ public class MouseHandler implements MouseListener {
         }
 
         // Handle scratching nearby destructibles
-        if (!cat.isScratching() && !cat.isChargingNubella()) {
-            Vec2 catPos = cat.getPosition();
-            for (Destructible d : world.getDestructibles()) {
-                if (d == null || d.getBody() == null || d.getBody().getWorld() == null) continue;
-
-                float distance = catPos.sub(d.getBody().getPosition()).length();
-                if (distance < 5f && d instanceof CardboardBox box && !box.isDestroyed()) {
-                    cat.startScratching(d);
-                    break;
-                }
-            }
-        }
+        world.queueInput(InputAction.SCRATCH);
     }
 
     @Override
     public void mousePressed(MouseEvent e) {
-        isMouseDown = true;
-        mousePressTime = System.currentTimeMillis();
-
-        // Start charging nubella if held long enough
-        Timer chargeDelayTimer = new Timer((int) CHARGE_DELAY, ev -> {
-            if (isMouseDown && cat.getNubellaCount() > 0) {
-                cat.startChargingNubella();
-            }
-        });
-        chargeDelayTimer.setRepeats(false);
-        chargeDelayTimer.start();
+        // Starts charging nubella if held long enough
+        world.queueInput(InputAction.PRESS_CHARGE);
     }
 
     @Override
     public void mouseReleased(MouseEvent e) {
-        isMouseDown = false;
-
-        // Release charged nubella if held long enough
-        long heldTime = System.currentTimeMillis() - mousePressTime;
-        if (heldTime >= CHARGE_DELAY) {
-            cat.releaseNubella();
-        }
+        // Releases charged nubella if held long enough
+        world.queueInput(InputAction.RELEASE_CHARGE);
     }
 
     @Override
@@ -0,0 +1,138 @@
+package game.inputs;
+
+import game.main.GameWorld;
+import game.main.HeadlessRunner;
+import game.main.TimerWheel;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-runs a recording made by {@link InputRecorder} without a window.
+ * The level is rebuilt with the recorded seed and every action is queued on the same step it was
+ * recorded on, so the run is identical to the original and can be profiled over and over.
+ *
+ * <p>Usage: {@code ReplayPlayer <file> [--realtime]}.</p>
+ */
+public class ReplayPlayer {
+    private final int level;
+    private final long seed;
+    private final List<Long> steps = new ArrayList<>();
+    private final List<InputAction> actions = new ArrayList<>();
+    private long endStep = -1;
+    private int expectedChecksum = 0;
+
+    /**
+     * Reads a recording.
+     * @param file the recording to play
+     */
+    public ReplayPlayer(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC) throw new IOException("Not an input recording: " + file);
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) throw new IOException("Unsupported recording version " + version);
+            level = in.readUnsignedByte();
+            seed = in.readLong();
+
+            long step = 0;
+            while (true) {
+                long delta;
+                try {
+                    delta = readVarint(in);
+                } catch (EOFException e) {
+                    break; // Recording was cut short, play what we have
+                }
+                step += delta;
+                int id = in.readUnsignedByte();
+                if (id == InputRecorder.END_MARKER) {
+                    endStep = step;
+                    expectedChecksum = in.readInt();
+                    break;
+                }
+                steps.add(step);
+                actions.add(InputAction.fromId(id));
+            }
+        }
+    }
+
+    /**
+     * Builds the recorded level and runs it to the end of the recording.
+     * @param realtime true to run at 60 steps per second, false to run as fast as possible
+     * @return the world after the replay
+     */
+    public GameWorld play(boolean realtime) {
+        GameWorld world = HeadlessRunner.createLevel(level, seed);
+        long lastStep = endStep >= 0 ? endStep : (steps.isEmpty() ? 0 : steps.get(steps.size() - 1) + 1);
+        long stepNanos = 1_000_000_000L / TimerWheel.STEPS_PER_SECOND;
+        long next = System.nanoTime();
+
+        int index = 0;
+        for (long step = 0; step < lastStep; step++) {
+            while (index < steps.size() && steps.get(index) == step) {
+                world.queueInput(actions.get(index++));
+            }
+            world.oneStep();
+
+            if (realtime) {
+                next += stepNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Returns true if the recording ended cleanly and the world matches its checksum.
+     */
+    public boolean matches(GameWorld world) {
+        return endStep >= 0 && InputRecorder.checksum(world) == expectedChecksum;
+    }
+
+    /** Returns how many actions the recording contains. */
+    public int getActionCount() {
+        return actions.size();
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Plays a recording from the command line and reports whether it reproduced the original run.
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayPlayer <file> [--realtime]");
+            return;
+        }
+
+        ReplayPlayer player = new ReplayPlayer(new File(args[0]));
+        long start = System.nanoTime();
+        GameWorld world = player.play(args.length > 1 && args[1].equals("--realtime"));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Replayed level %d (seed %d): %d actions over %d steps in %.2f s%n",
+                player.level, player.seed, player.getActionCount(), world.getStep(), seconds);
+        System.out.println(player.endStep < 0 ? "Recording has no end record, nothing to verify"
+                : player.matches(world) ? "Replay matches the recording" : "Replay DIVERGED from the recording");
+        System.exit(0);
+    }
+}
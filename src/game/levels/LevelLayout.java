@@ -0,0 +1,133 @@
+package game.levels;
+
+import game.levels.Placement.Kind;
+import org.jbox2d.common.Vec2;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything a level places, as data. The world's level streamer only builds the placements near the camera.
+ */
+public class LevelLayout {
+    private final List<Placement> placements = new ArrayList<>();
+
+    /**
+     * Adds a placement.
+     */
+    public void add(Placement placement) {
+        placements.add(placement);
+    }
+
+    /**
+     * Adds many placements at once, e.g. everything decoded from a level file.
+     */
+    public void addAll(Collection<Placement> all) {
+        placements.addAll(all);
+    }
+
+    /**
+     * Adds a tiled platform.
+     * @param width number of horizontal tiles
+     * @param height number of base tiles below the top row
+     * @param topY y-position of the top row
+     * @param centerX center x-position
+     * @param topImage image of the top tiles
+     * @param baseImage image of the base tiles
+     */
+    public void platform(int width, int height, float topY, float centerX, String topImage, String baseImage) {
+        add(new Placement(Kind.PLATFORM, centerX, topY, new float[]{width, height}, new String[]{topImage, baseImage}));
+    }
+
+    /**
+     * Adds a moving platform.
+     * @param width platform width
+     * @param height platform height
+     * @param start starting position
+     * @param vertical true to move up and down, false to move left and right
+     * @param min lower (or left) limit
+     * @param max upper (or right) limit
+     * @param speed platform speed
+     * @param color fill and line colour
+     */
+    public void movingPlatform(float width, float height, Vec2 start, boolean vertical, float min, float max,
+                               float speed, Color color) {
+        add(new Placement(Kind.MOVING_PLATFORM, start.x, start.y, new float[]{
+                width, height, vertical ? 1 : 0, min, max, speed,
+                color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha()}, new String[0]));
+    }
+
+    /**
+     * Adds a slanted roof section.
+     */
+    public void roof(Vec2 position, float angle, String image) {
+        add(new Placement(Kind.ROOF, position.x, position.y, new float[]{angle}, new String[]{image}));
+    }
+
+    /**
+     * Adds a ladder standing on a base position.
+     */
+    public void ladder(Vec2 base, float height) {
+        add(new Placement(Kind.LADDER, base.x, base.y, new float[]{height}, new String[0]));
+    }
+
+    /**
+     * Adds a pigeon enemy.
+     */
+    public void pigeon(Vec2 position) {
+        add(Placement.at(Kind.PIGEON, position.x, position.y));
+    }
+
+    /**
+     * Adds a breakable cardboard box of a given type (open, closed or left).
+     */
+    public void cardboardBox(Vec2 position, String type) {
+        add(new Placement(Kind.CARDBOARD_BOX, position.x, position.y, new float[0], new String[]{type}));
+    }
+
+    /**
+     * Adds a Balila cart.
+     */
+    public void balilaCart(Vec2 position) {
+        add(Placement.at(Kind.BALILA_CART, position.x, position.y));
+    }
+
+    /**
+     * Adds a decorative background prop.
+     */
+    public void backgroundProp(String image, Vec2 position, float scale) {
+        add(new Placement(Kind.BACKGROUND_PROP, position.x, position.y, new float[]{scale}, new String[]{image}));
+    }
+
+    /**
+     * Adds a laundry string that drops a rug at a given position.
+     */
+    public void laundryString(Vec2 position, Vec2 rugDropPosition) {
+        add(new Placement(Kind.LAUNDRY_STRING, position.x, position.y,
+                new float[]{rugDropPosition.x, rugDropPosition.y}, new String[0]));
+    }
+
+    /**
+     * Adds a rolling paint bucket.
+     */
+    public void paintBucket(Vec2 position) {
+        add(Placement.at(Kind.PAINT_BUCKET, position.x, position.y));
+    }
+
+    /**
+     * Gets every placement in the order they were added.
+     */
+    public List<Placement> getPlacements() {
+        return Collections.unmodifiableList(placements);
+    }
+
+    /**
+     * Gets the number of placements.
+     */
+    public int size() {
+        return placements.size();
+    }
+}
@@ -0,0 +1,100 @@
+package game.levels;
+
+import city.cs.engine.Body;
+import city.cs.engine.BoxShape;
+import city.cs.engine.StaticBody;
+import game.assets.AssetRegistry;
+import game.characters.Cat;
+import game.characters.Pigeon;
+import game.main.GameWorld;
+import game.obstacles.*;
+import game.pickups.FoodPickup;
+import game.pickups.NubellaPickup;
+import game.pickups.RugPickup;
+import game.props.BackgroundProp;
+import game.props.BalilaCart;
+import game.props.RollingPaintBucket;
+import org.jbox2d.common.Vec2;
+
+import java.awt.*;
+
+/**
+ * Builds the entities for layout placements and tears them down again.
+ */
+public class LevelSpawner {
+
+    private LevelSpawner() {
+    }
+
+    /**
+     * Creates the entity for a placement.
+     * @param world the world to create it in
+     * @param placement what to create
+     * @param used whether the placement has already been used up (only matters for laundry strings,
+     *             which come back without their rug)
+     * @return the created body, or the {@link Ladder} for ladders
+     */
+    public static Object spawn(GameWorld world, Placement placement, boolean used) {
+        float[] v = placement.values();
+        String[] text = placement.text();
+        Vec2 position = new Vec2(placement.x(), placement.y());
+        Cat cat = world.getCat();
+
+        return switch (placement.kind()) {
+            case PLATFORM -> new Platform(world, (int) v[0], (int) v[1], placement.y(), placement.x(), text[0], text[1]);
+            case MOVING_PLATFORM -> spawnMovingPlatform(world, position, v);
+            case ROOF -> {
+                StaticBody roof = new StaticBody(world, new BoxShape(6, 1.5f));
+                roof.setPosition(position);
+                roof.setAngleDegrees(v[0]);
+                roof.addImage(AssetRegistry.bodyImage(world, text[0], 2.25f));
+                yield roof;
+            }
+            case LADDER -> new Ladder(world, position, v[0]);
+            case PIGEON -> new Pigeon(world, position, cat);
+            case CARDBOARD_BOX -> new CardboardBox(world, position, cat, text[0]);
+            case BALILA_CART -> new BalilaCart(world, position, cat);
+            case BACKGROUND_PROP -> new BackgroundProp(world, text[0], v[0], position);
+            case LAUNDRY_STRING -> {
+                LaundryString string = new LaundryString(world, position, new Vec2(v[0], v[1]));
+                if (used) string.removeRug();
+                yield string;
+            }
+            case PAINT_BUCKET -> new RollingPaintBucket(world, position, cat);
+            case FOOD_PICKUP -> new FoodPickup(world, position);
+            case NUBELLA_PICKUP -> new NubellaPickup(world, position);
+            case RUG_PICKUP -> new RugPickup(world, position);
+        };
+    }
+
+    /**
+     * Creates a moving platform from its placement values.
+     */
+    private static MovingPlatform spawnMovingPlatform(GameWorld world, Vec2 position, float[] v) {
+        MovingPlatform platform = new MovingPlatform(world, v[0], v[1], position);
+        if (v[2] != 0) {
+            platform.setLowerLimit(v[3]);
+            platform.setUpperLimit(v[4]);
+            platform.startMovingVertically(v[5]);
+        } else {
+            platform.setLeftLimit(v[3]);
+            platform.setRightLimit(v[4]);
+            platform.startMovingHorizontally(v[5]);
+        }
+        Color color = new Color((int) v[6], (int) v[7], (int) v[8], (int) v[9]);
+        platform.setFillColor(color);
+        platform.setLineColor(color);
+        return platform;
+    }
+
+    /**
+     * Removes an entity created by {@link #spawn} from its world, along with its timers, tiles and scenery.
+     */
+    public static void despawn(Object entity) {
+        if (entity instanceof Ladder ladder) {
+            ladder.destroy();
+        } else if (entity instanceof Body body) {
+            body.destroy();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package game.levels;
+
+/**
+ * One thing placed in a level layout: a platform, an enemy, a prop, a pickup...
+ * Placements are plain data; {@link LevelSpawner} turns them into bodies when their part of the level is loaded.
+ * @param kind what is placed
+ * @param x x-position (centre x for platforms)
+ * @param y y-position (top y for platforms)
+ * @param values kind-specific numbers, named by {@link Kind#valueNames()}
+ * @param text kind-specific strings such as image paths, named by {@link Kind#textNames()}
+ */
+public record Placement(Kind kind, float x, float y, float[] values, String[] text) {
+
+    /** Size of one platform tile in world units. */
+    public static final float TILE_SIZE = 3f;
+
+    /**
+     * The kinds of placement, with the names of the values and text each one uses.
+     * The names are the field names in level source files. Compiled level files store the
+     * kind's ordinal, so new kinds must be added at the end.
+     */
+    public enum Kind {
+        PLATFORM(names("width", "height"), names("top", "base")),
+        MOVING_PLATFORM(names("width", "height", "vertical", "min", "max", "speed", "red", "green", "blue", "alpha"), names()),
+        ROOF(names("angle"), names("image")),
+        LADDER(names("height"), names()),
+        PIGEON(names(), names()),
+        CARDBOARD_BOX(names(), names("type")),
+        BALILA_CART(names(), names()),
+        BACKGROUND_PROP(names("scale"), names("image")),
+        LAUNDRY_STRING(names("dropX", "dropY"), names()),
+        PAINT_BUCKET(names(), names()),
+        FOOD_PICKUP(names(), names()),
+        NUBELLA_PICKUP(names(), names()),
+        RUG_PICKUP(names(), names());
+
+        private final String[] valueNames;
+        private final String[] textNames;
+
+        Kind(String[] valueNames, String[] textNames) {
+            this.valueNames = valueNames;
+            this.textNames = textNames;
+        }
+
+        /** Gets the names of the kind's values, in order. */
+        public String[] valueNames() {
+            return valueNames.clone();
+        }
+
+        /** Gets the names of the kind's text fields, in order. */
+        public String[] textNames() {
+            return textNames.clone();
+        }
+
+        /** Gets the number of values the kind uses. */
+        public int valueCount() {
+            return valueNames.length;
+        }
+
+        /** Gets the number of text fields the kind uses. */
+        public int textCount() {
+            return textNames.length;
+        }
+
+        private static String[] names(String... names) {
+            return names;
+        }
+    }
+
+    /**
+     * Creates a placement that only needs a position.
+     */
+    public static Placement at(Kind kind, float x, float y) {
+        return new Placement(kind, x, y, new float[0], new String[0]);
+    }
+
+    /**
+     * Gets the left edge of the area this placement covers or reacts in.
+     */
+    public float minX() {
+        if (kind == Kind.MOVING_PLATFORM && values[2] == 0) {
+            return values[3] - values[0] / 2f;
+        }
+        return x - reach();
+    }
+
+    /**
+     * Gets the right edge of the area this placement covers or reacts in.
+     */
+    public float maxX() {
+        if (kind == Kind.MOVING_PLATFORM && values[2] == 0) {
+            return values[4] + values[0] / 2f;
+        }
+        return x + reach();
+    }
+
+    /**
+     * How far from its x-position a placement reaches, including any trigger range.
+     */
+    private float reach() {
+        return switch (kind) {
+            case PLATFORM -> values[0] * TILE_SIZE / 2f;
+            case MOVING_PLATFORM -> values[0] / 2f;
+            case ROOF -> 6.5f;
+            case LADDER -> 1f;
+            case PIGEON -> 10f; // Patrols a few units each way and attacks from 6
+            case CARDBOARD_BOX -> 1.5f;
+            case BALILA_CART -> 8.5f;
+            case BACKGROUND_PROP -> values[0]; // Allows an image up to twice as wide as it is tall
+            case LAUNDRY_STRING -> 10f;
+            case PAINT_BUCKET -> 8f;
+            case FOOD_PICKUP, NUBELLA_PICKUP, RUG_PICKUP -> 0.5f;
+        };
+    }
+}
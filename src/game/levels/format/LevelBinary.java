@@ -0,0 +1,176 @@
+package game.levels.format;
+
+import game.levels.LevelLayout;
+import game.levels.Placement;
+import game.levels.Placement.Kind;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * The compiled binary form of a level layout (.lvl), written by {@link LevelCompiler} and read by {@link LevelFiles}.
+ * <p>
+ * Layout, big-endian: magic "CATL", version (short), level number (byte), CRC32 of the source file it was
+ * compiled from (int, so a changed source can be told from an unchanged one), string table
+ * (short count, then short length and UTF-8 bytes per string), placement count (int), then per placement
+ * the kind (byte), x and y (floats), the kind's values (floats) and its text fields (shorts indexing the
+ * string table). The number of values and text fields is fixed by the kind, so it isn't stored.
+ * A CRC32 of everything before it ends the file.
+ */
+public class LevelBinary {
+    public static final int MAGIC = 0x4341544C; // "CATL"
+    public static final short VERSION = 2;
+    private static final int HEADER_SIZE = 11;
+
+    private LevelBinary() {
+    }
+
+    /**
+     * Writes a layout in binary form.
+     * @param layout the layout to write
+     * @param level the level number
+     * @param sourceCrc CRC32 of the source file the layout was read from
+     * @param path where to write it
+     */
+    public static void write(LevelLayout layout, int level, int sourceCrc, Path path) throws IOException {
+        // Each distinct string (mostly image paths) is stored once
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Placement p : layout.getPlacements()) {
+            for (String s : p.text()) strings.putIfAbsent(s, strings.size());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(level);
+        out.writeInt(sourceCrc);
+
+        out.writeShort(strings.size());
+        for (String s : strings.keySet()) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(utf8.length);
+            out.write(utf8);
+        }
+
+        out.writeInt(layout.size());
+        for (Placement p : layout.getPlacements()) {
+            Kind kind = p.kind();
+            if (p.values().length != kind.valueCount() || p.text().length != kind.textCount()) {
+                throw new IOException("Placement " + kind + " at " + p.x() + " has the wrong number of fields");
+            }
+            out.writeByte(kind.ordinal());
+            out.writeFloat(p.x());
+            out.writeFloat(p.y());
+            for (float v : p.values()) out.writeFloat(v);
+            for (String s : p.text()) out.writeShort(strings.get(s));
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, bytes.toByteArray());
+    }
+
+    /**
+     * Reads the CRC32 of the source file a binary layout was compiled from, without reading the rest of it.
+     * @throws IOException if the file can't be read, or is not a level file of this version
+     */
+    public static int readSourceCrc(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Reads the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) throw new IOException(path + ": not a level file");
+            short version = header.getShort(4);
+            if (version != VERSION) throw new IOException(path + ": unsupported level file version " + version);
+            return header.getInt(7);
+        }
+    }
+
+    /**
+     * Gets the CRC32 of a file's contents, e.g. a level source to compare with {@link #readSourceCrc}.
+     */
+    public static int fileCrc(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(path));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads a binary layout through a memory-mapped buffer. All placements are decoded in one pass
+     * and added to the layout together.
+     * @throws IOException if the file can't be read, is not a level file, or is corrupt
+     */
+    public static LevelLayout read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, path.toString());
+        }
+    }
+
+    /**
+     * Reads a binary layout from a buffer positioned at its start.
+     * @param where names the source in error messages
+     */
+    public static LevelLayout read(ByteBuffer buffer, String where) throws IOException {
+        try {
+            int size = buffer.remaining();
+            if (size < HEADER_SIZE + 4) throw new IOException(where + ": too short to be a level file");
+
+            int start = buffer.position();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(start + size - 4));
+            if ((int) crc.getValue() != buffer.getInt(start + size - 4)) {
+                throw new IOException(where + ": checksum mismatch, the file is corrupt");
+            }
+
+            if (buffer.getInt() != MAGIC) throw new IOException(where + ": not a level file");
+            short version = buffer.getShort();
+            if (version != VERSION) throw new IOException(where + ": unsupported level file version " + version);
+            buffer.get(); // level number, only informative
+            buffer.getInt(); // source CRC, checked by LevelFiles
+
+            String[] strings = new String[buffer.getShort() & 0xFFFF];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            Kind[] kinds = Kind.values();
+            Placement[] placements = new Placement[buffer.getInt()];
+            for (int i = 0; i < placements.length; i++) {
+                int ordinal = buffer.get() & 0xFF;
+                if (ordinal >= kinds.length) throw new IOException(where + ": unknown placement kind " + ordinal);
+                Kind kind = kinds[ordinal];
+                float x = buffer.getFloat();
+                float y = buffer.getFloat();
+                float[] values = new float[kind.valueCount()];
+                for (int j = 0; j < values.length; j++) values[j] = buffer.getFloat();
+                String[] text = new String[kind.textCount()];
+                for (int j = 0; j < text.length; j++) text[j] = strings[buffer.getShort() & 0xFFFF];
+                placements[i] = new Placement(kind, x, y, values, text);
+            }
+
+            LevelLayout layout = new LevelLayout();
+            layout.addAll(Arrays.asList(placements));
+            return layout;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException(where + ": truncated level file", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package game.levels.format;
+
+import game.levels.LevelLayout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compiles level source files (JSON) into the binary files the game loads.
+ * <pre>
+ * LevelCompiler                      compile every data/Levels/levelN.json
+ * LevelCompiler &lt;in.json&gt; [out.lvl]  compile one file
+ * </pre>
+ */
+public class LevelCompiler {
+
+    private LevelCompiler() {
+    }
+
+    /**
+     * Compiles a source file into a binary file.
+     * @param level the level number stored in the binary file
+     * @return the number of placements compiled
+     */
+    public static int compile(Path source, Path binary, int level) throws IOException {
+        LevelLayout layout = LevelSource.read(source);
+        LevelBinary.write(layout, level, LevelBinary.fileCrc(source), binary);
+
+        // Read it back so a bad file is caught here rather than in the game
+        LevelLayout check = LevelBinary.read(binary);
+        if (check.size() != layout.size()) {
+            throw new IOException(binary + ": wrote " + layout.size() + " placements but read back " + check.size());
+        }
+        return layout.size();
+    }
+
+    /**
+     * Gets the level number from a file name such as level2.json, or 0 if it has none.
+     */
+    private static int levelNumber(Path file) {
+        String digits = file.getFileName().toString().replaceAll("\\D", "");
+        try {
+            return digits.isEmpty() ? 0 : Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void compileAndReport(Path source, Path binary) throws IOException {
+        int count = compile(source, binary, levelNumber(source));
+        System.out.printf("%s -> %s: %d placements, %d bytes (source %d bytes)%n",
+                source, binary, count, Files.size(binary), Files.size(source));
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length > 0) {
+                Path source = Path.of(args[0]);
+                Path binary = args.length > 1 ? Path.of(args[1])
+                        : Path.of(source.toString().replaceFirst("\\.json$", "") + ".lvl");
+                compileAndReport(source, binary);
+            } else {
+                for (int level = 1; Files.exists(LevelFiles.sourcePath(level)); level++) {
+                    compileAndReport(LevelFiles.sourcePath(level), LevelFiles.binaryPath(level));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Level compile failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package game.levels.format;
+
+import game.levels.LevelLayout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Finds and loads a level's layout from data/Levels.
+ * The compiled file (levelN.lvl) is preferred. The source (levelN.json) is used when there is no compiled file,
+ * when the source's CRC no longer matches the one it was compiled from (with a warning to run {@link LevelCompiler}),
+ * or when the game is started with -Dgame.levelSource=true to load the sources directly while editing.
+ * File times aren't compared, as a checkout doesn't keep them.
+ */
+public class LevelFiles {
+    public static final Path DIRECTORY = Path.of("data/Levels");
+
+    private LevelFiles() {
+    }
+
+    /**
+     * Gets the path of a level's source file.
+     */
+    public static Path sourcePath(int level) {
+        return DIRECTORY.resolve("level" + level + ".json");
+    }
+
+    /**
+     * Gets the path of a level's compiled file.
+     */
+    public static Path binaryPath(int level) {
+        return DIRECTORY.resolve("level" + level + ".lvl");
+    }
+
+    /**
+     * Loads a level's layout.
+     * @param level the level number
+     * @throws UncheckedIOException if the level has no file or it can't be read
+     */
+    public static LevelLayout load(int level) {
+        Path binary = binaryPath(level);
+        Path source = sourcePath(level);
+
+        try {
+            boolean hasBinary = Files.exists(binary);
+            boolean hasSource = Files.exists(source);
+            if (hasSource && hasBinary && !Boolean.getBoolean("game.levelSource")
+                    && LevelBinary.fileCrc(source) != LevelBinary.readSourceCrc(binary)) {
+                System.out.println("Warning: " + source + " was changed after " + binary
+                        + " was compiled, loading the source. Run LevelCompiler to recompile it.");
+                return LevelSource.read(source);
+            }
+            if (hasBinary && !(hasSource && Boolean.getBoolean("game.levelSource"))) {
+                return LevelBinary.read(binary);
+            }
+            if (hasSource) {
+                return LevelSource.read(source);
+            }
+            throw new IOException("neither " + source + " nor " + binary + " exists");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load level " + level + ": " + e.getMessage(), e);
+        }
+    }
+}
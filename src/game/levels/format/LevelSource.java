@@ -0,0 +1,131 @@
+package game.levels.format;
+
+import game.levels.LevelLayout;
+import game.levels.Placement;
+import game.levels.Placement.Kind;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads and writes the human-readable JSON source of a level layout, e.g. data/Levels/level1.json:
+ * <pre>
+ * {
+ *   "level": 1,
+ *   "placements": [
+ *     {"kind": "platform", "x": -15, "y": -15, "width": 40, "height": 10, "top": "...", "base": "..."},
+ *     {"kind": "pigeon", "x": 25, "y": -15}
+ *   ]
+ * }
+ * </pre>
+ * Each placement has a kind, a position, and the fields named by its {@link Kind}.
+ */
+public class LevelSource {
+
+    private LevelSource() {
+    }
+
+    /**
+     * Reads a level source file.
+     * @throws IOException if the file can't be read or a placement is missing a field
+     */
+    public static LevelLayout read(Path path) throws IOException {
+        Object document = JsonReader.parse(Files.readString(path, StandardCharsets.UTF_8));
+        if (!(document instanceof Map<?, ?> root) || !(root.get("placements") instanceof List<?> entries)) {
+            throw new IOException(path + ": expected an object with a \"placements\" array");
+        }
+
+        LevelLayout layout = new LevelLayout();
+        for (int i = 0; i < entries.size(); i++) {
+            if (!(entries.get(i) instanceof Map<?, ?> entry)) {
+                throw new IOException(path + ": placement " + i + " is not an object");
+            }
+            layout.add(readPlacement(entry, path + ": placement " + i));
+        }
+        return layout;
+    }
+
+    /**
+     * Converts one JSON object to a placement.
+     * @param where describes the placement in error messages
+     */
+    private static Placement readPlacement(Map<?, ?> entry, String where) throws IOException {
+        Kind kind;
+        try {
+            kind = Kind.valueOf(String.valueOf(entry.get("kind")).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(where + ": unknown kind " + entry.get("kind"));
+        }
+
+        String[] valueNames = kind.valueNames();
+        float[] values = new float[valueNames.length];
+        for (int i = 0; i < valueNames.length; i++) {
+            values[i] = number(entry, valueNames[i], where);
+        }
+        String[] textNames = kind.textNames();
+        String[] text = new String[textNames.length];
+        for (int i = 0; i < textNames.length; i++) {
+            if (!(entry.get(textNames[i]) instanceof String value)) {
+                throw new IOException(where + ": missing text field \"" + textNames[i] + "\"");
+            }
+            text[i] = value;
+        }
+        return new Placement(kind, number(entry, "x", where), number(entry, "y", where), values, text);
+    }
+
+    private static float number(Map<?, ?> entry, String name, String where) throws IOException {
+        Object value = entry.get(name);
+        if (value instanceof Double d) return d.floatValue();
+        if (value instanceof Boolean b) return b ? 1 : 0;
+        throw new IOException(where + ": missing number field \"" + name + "\"");
+    }
+
+    /**
+     * Writes a layout as a level source file, one placement per line.
+     * @param layout the layout to write
+     * @param level the level number
+     * @param path where to write it
+     */
+    public static void write(LevelLayout layout, int level, Path path) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"level\": ").append(level).append(",\n  \"placements\": [\n");
+
+        List<Placement> placements = layout.getPlacements();
+        for (int i = 0; i < placements.size(); i++) {
+            Placement p = placements.get(i);
+            Kind kind = p.kind();
+            sb.append("    {\"kind\": \"").append(kind.name().toLowerCase(Locale.ROOT)).append('"');
+            sb.append(", \"x\": ").append(format(p.x())).append(", \"y\": ").append(format(p.y()));
+
+            String[] valueNames = kind.valueNames();
+            for (int j = 0; j < valueNames.length; j++) {
+                sb.append(", \"").append(valueNames[j]).append("\": ").append(format(p.values()[j]));
+            }
+            String[] textNames = kind.textNames();
+            for (int j = 0; j < textNames.length; j++) {
+                sb.append(", \"").append(textNames[j]).append("\": \"").append(escape(p.text()[j])).append('"');
+            }
+            sb.append(i < placements.size() - 1 ? "},\n" : "}\n");
+        }
+        sb.append("  ]\n}\n");
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats a number without a trailing ".0" when it is whole.
+     */
+    private static String format(float value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e7 ? Integer.toString((int) value) : Float.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
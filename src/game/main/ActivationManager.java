@@ -0,0 +1,122 @@
+package game.main;
+
+import game.utils.Activatable;
+import game.utils.Activatable.Tier;
+import org.jbox2d.common.Vec2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts entities into activation tiers by their distance from the camera.
+ * Entities on or just around the screen update every step, those in a margin band run their AI at a
+ * reduced rate, and everything further away is asleep, so big levels only pay for what the player
+ * can (nearly) see. Tiers are re-evaluated every few steps as the cat moves.
+ */
+public class ActivationManager {
+
+    /** Half-size of the full-update area (the 1200x800 view at zoom 20 plus a small margin). */
+    public static final float FULL_HALF_WIDTH = 34f;
+    public static final float FULL_HALF_HEIGHT = 24f;
+
+    /** Half-size of the reduced-rate band; anything beyond it is asleep. */
+    public static final float REDUCED_HALF_WIDTH = 60f;
+    public static final float REDUCED_HALF_HEIGHT = 45f;
+
+    /** Entities in the reduced band update once every this many steps. */
+    public static final int REDUCED_INTERVAL = 4;
+
+    private static final int EVALUATE_INTERVAL = 10;
+    private static final float HYSTERESIS = 2f; // Stops entities on a band edge from flickering between tiers
+
+    private final List<Activatable> entities = new ArrayList<>();
+    private final int[] counts = new int[Tier.values().length];
+
+    /**
+     * Starts managing an entity. It stays in its current tier until the next evaluation.
+     */
+    public void add(Activatable entity) {
+        entities.add(entity);
+        counts[entity.getTier().ordinal()]++;
+    }
+
+    /**
+     * Stops managing an entity, e.g. when it is destroyed.
+     */
+    public void remove(Activatable entity) {
+        if (entities.remove(entity)) {
+            counts[entity.getTier().ordinal()]--;
+        }
+    }
+
+    /**
+     * Re-evaluates tiers around the camera focus. Called once per step; only does work every few steps.
+     * @param step current world step
+     * @param focusX x of the world point the camera is centred on
+     * @param focusY y of the world point the camera is centred on
+     */
+    public void update(long step, float focusX, float focusY) {
+        if (step % EVALUATE_INTERVAL != 0) return;
+
+        for (int i = entities.size() - 1; i >= 0; i--) {
+            Activatable entity = entities.get(i);
+            if (entity.getBody().getWorld() == null) {
+                // Destroyed without unregistering
+                counts[entity.getTier().ordinal()]--;
+                entities.remove(i);
+                continue;
+            }
+
+            Tier current = entity.getTier();
+            Tier next = tierFor(entity.getBody().getPosition(), focusX, focusY, current);
+            if (next != current) {
+                counts[current.ordinal()]--;
+                counts[next.ordinal()]++;
+                entity.setTier(next);
+            }
+        }
+    }
+
+    /**
+     * Works out the tier for a position, keeping the current tier when it is only just past a band edge.
+     */
+    private static Tier tierFor(Vec2 position, float focusX, float focusY, Tier current) {
+        float dx = Math.abs(position.x - focusX);
+        float dy = Math.abs(position.y - focusY);
+
+        // Promote as soon as inside a band, demote only once clearly outside it
+        float fullSlack = current == Tier.FULL ? HYSTERESIS : 0f;
+        if (dx <= FULL_HALF_WIDTH + fullSlack && dy <= FULL_HALF_HEIGHT + fullSlack) return Tier.FULL;
+
+        float reducedSlack = current != Tier.ASLEEP ? HYSTERESIS : 0f;
+        if (dx <= REDUCED_HALF_WIDTH + reducedSlack && dy <= REDUCED_HALF_HEIGHT + reducedSlack) return Tier.REDUCED;
+
+        return Tier.ASLEEP;
+    }
+
+    /**
+     * Returns true if an entity in the given tier should run its per-step logic on this step.
+     */
+    public static boolean isUpdateStep(Tier tier, long step) {
+        return switch (tier) {
+            case FULL -> true;
+            case REDUCED -> step % REDUCED_INTERVAL == 0;
+            case ASLEEP -> false;
+        };
+    }
+
+    /**
+     * Returns how many managed entities are in a tier.
+     */
+    public int getCount(Tier tier) {
+        return counts[tier.ordinal()];
+    }
+
+    /**
+     * Returns a one-line summary of the tier counts.
+     */
+    public String report() {
+        return String.format("Activation: %d full, %d reduced, %d asleep",
+                getCount(Tier.FULL), getCount(Tier.REDUCED), getCount(Tier.ASLEEP));
+    }
+}
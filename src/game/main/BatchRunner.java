@@ -0,0 +1,197 @@
+package game.main;
+
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs many headless worlds at once, one per worker thread, for automated playtesting.
+ * Every run builds its own world with its own seed and seeded random input script, so runs share
+ * nothing mutable (sound goes to each world's silent sink, timers and randomness are per world).
+ * Results are gathered into a per-level report: completion, completion time, deaths and speed.
+ *
+ * <p>Usage: {@code BatchRunner <runs per level> [steps] [--levels 1,2,3] [--threads n] [--seed base]}.</p>
+ */
+public class BatchRunner {
+
+    /**
+     * One run to perform.
+     * @param level level number
+     * @param seed seed for the world and its input script
+     * @param maxSteps step limit for the run
+     */
+    public record Job(int level, long seed, int maxSteps) {}
+
+    /**
+     * The outcome of one run.
+     * @param job the run that produced it
+     * @param steps steps actually run
+     * @param completedAtStep step the level was completed on, or -1
+     * @param deaths times the cat died
+     * @param health cat's health at the end
+     * @param stepsPerSecond simulation speed of this run
+     * @param error exception message if the run crashed, otherwise null
+     */
+    public record Result(Job job, int steps, int completedAtStep, int deaths, int health,
+                         double stepsPerSecond, String error) {
+
+        /** Returns true if the cat reached the level's win object. */
+        public boolean completed() {
+            return completedAtStep >= 0;
+        }
+    }
+
+    private final int threads;
+
+    /**
+     * Creates a batch runner.
+     * @param threads number of worlds to run at the same time
+     */
+    public BatchRunner(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Runs every job and waits for all of them.
+     * @return one result per job, in job order
+     */
+    public List<Result> runAll(List<Job> jobs) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-world");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Result>> tasks = new ArrayList<>();
+            for (Job job : jobs) {
+                tasks.add(() -> run(job));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : executor.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // run() catches its own failures, so this is unexpected
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one job on the calling thread.
+     */
+    public static Result run(Job job) {
+        GameWorld world = null;
+        try {
+            world = HeadlessRunner.createLevel(job.level(), job.seed());
+            HeadlessRunner runner = new HeadlessRunner(world, HeadlessRunner.randomScript(job.seed(), job.maxSteps()));
+
+            long start = System.nanoTime();
+            int steps = runner.run(job.maxSteps(), false);
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+
+            return new Result(job, steps, runner.getCompletedAtStep(), world.getDeaths(),
+                    world.getCat().getHealth(), steps / seconds, null);
+        } catch (RuntimeException e) {
+            return new Result(job, 0, -1, 0, 0, 0, e.toString());
+        } finally {
+            if (world != null) world.dispose();
+        }
+    }
+
+    /**
+     * Builds a text report of the results, one block per level.
+     * @param results results to summarise
+     * @param wallSeconds how long the whole batch took
+     */
+    public static String report(List<Result> results, double wallSeconds) {
+        StringBuilder report = new StringBuilder();
+        Map<Integer, List<Result>> byLevel = new TreeMap<>();
+        long totalSteps = 0;
+        for (Result result : results) {
+            byLevel.computeIfAbsent(result.job().level(), k -> new ArrayList<>()).add(result);
+            totalSteps += result.steps();
+        }
+
+        for (Map.Entry<Integer, List<Result>> entry : byLevel.entrySet()) {
+            List<Result> runs = entry.getValue();
+            List<Integer> completionSteps = new ArrayList<>();
+            int errors = 0;
+            long deaths = 0;
+            double speed = 0;
+            for (Result result : runs) {
+                if (result.error() != null) errors++;
+                if (result.completed()) completionSteps.add(result.completedAtStep());
+                deaths += result.deaths();
+                speed += result.stepsPerSecond();
+            }
+            Collections.sort(completionSteps);
+
+            report.append(String.format("Level %d: %d runs, %d completed, %d crashed%n",
+                    entry.getKey(), runs.size(), completionSteps.size(), errors));
+            if (!completionSteps.isEmpty()) {
+                report.append(String.format("  completion: min %.1f s, median %.1f s, max %.1f s%n",
+                        seconds(completionSteps.get(0)),
+                        seconds(completionSteps.get(completionSteps.size() / 2)),
+                        seconds(completionSteps.get(completionSteps.size() - 1))));
+            }
+            report.append(String.format("  deaths: %.2f per run, speed: %.0f steps/s per world%n",
+                    (double) deaths / runs.size(), speed / runs.size()));
+            for (Result result : runs) {
+                if (result.error() != null) {
+                    report.append("  seed ").append(result.job().seed()).append(" crashed: ")
+                            .append(result.error()).append(System.lineSeparator());
+                }
+            }
+        }
+        report.append(String.format("Total: %d worlds, %d steps in %.2f s (%.0f steps/s across all threads)%n",
+                results.size(), totalSteps, wallSeconds, totalSteps / Math.max(1e-9, wallSeconds)));
+        return report.toString();
+    }
+
+    private static double seconds(int steps) {
+        return steps / (double) TimerWheel.STEPS_PER_SECOND;
+    }
+
+    /**
+     * Runs a batch from the command line and prints the report.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            System.out.println("Usage: BatchRunner <runs per level> [steps] [--levels 1,2,3] [--threads n] [--seed base]");
+            return;
+        }
+        int runs = Integer.parseInt(args[0]);
+        int steps = 60 * TimerWheel.STEPS_PER_SECOND;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long baseSeed = 1;
+        int[] levels = {1, 2, 3};
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--levels" -> levels = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> baseSeed = Long.parseLong(args[++i]);
+                default -> steps = Integer.parseInt(args[i]);
+            }
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        for (int level : levels) {
+            for (int i = 0; i < runs; i++) {
+                jobs.add(new Job(level, baseSeed + i, steps));
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Result> results = new BatchRunner(threads).runAll(jobs);
+        System.out.print(report(results, (System.nanoTime() - start) / 1e9));
+        System.exit(0);
+    }
+}
@@ -0,0 +1,167 @@
+package game.main;
+
+import game.characters.Cat;
+import game.utils.ByteDelta;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * The last few checkpoints of a level, kept in memory so the Cat can respawn instantly where it was
+ * rather than back at the start. A checkpoint is a {@link WorldSnapshot} taken while the Cat stands safely:
+ * periodically, whenever it gets a chunk further than the last checkpoint, or when a trigger asks for one.
+ * <p>
+ * The ring holds {@link #CAPACITY} checkpoints and drops the oldest when full. Every
+ * {@link #KEYFRAME_INTERVAL}th checkpoint is kept whole; the ones in between are kept as a {@link ByteDelta}
+ * against it, so most checkpoints cost a few hundred bytes. Restoring decodes one delta and restores
+ * the snapshot onto the running world.
+ */
+public class CheckpointRing {
+
+    /** Most checkpoints kept. */
+    public static final int CAPACITY = 8;
+    /** Every this many checkpoints one is kept whole, for the following ones to be encoded against. */
+    public static final int KEYFRAME_INTERVAL = 4;
+    /** Steps between periodic checkpoints. */
+    public static final int PERIOD = TimerWheel.millisToSteps(5000);
+    /** A checkpoint is also taken when the Cat gets this much further than the furthest one. */
+    public static final float SPACING = LevelStreamer.CHUNK_WIDTH;
+    /** The Cat counts as standing when its vertical speed is under this. */
+    private static final float STANDING_SPEED = 0.1f;
+    /** Steps the Cat must have been standing for, so a checkpoint is never taken as it starts to fall. */
+    private static final int STANDING_STEPS = 30;
+
+    private final GameWorld world;
+    private final Checkpoint[] ring = new Checkpoint[CAPACITY];
+    private int oldest = 0;
+    private int count = 0;
+    private byte[] keyframe;
+    private int sinceKeyframe = 0;
+    private long lastCaptureStep = 0;
+    private float furthestX = Float.NEGATIVE_INFINITY;
+    private int standingSteps = 0;
+
+    private long captured = 0;
+    private long restored = 0;
+    private long lastRestoreNanos = 0;
+    private long maxRestoreNanos = 0;
+
+    /**
+     * Creates an empty checkpoint ring for a world.
+     */
+    public CheckpointRing(GameWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Takes a checkpoint if one is due and the Cat has been standing a moment, alive.
+     * Called once per step, after the physics step.
+     */
+    public void update() {
+        Cat cat = world.getCat();
+        if (world.isGameOver() || cat.getHealth() <= 0 || Math.abs(cat.getLinearVelocity().y) > STANDING_SPEED) {
+            standingSteps = 0;
+            return;
+        }
+        if (++standingSteps < STANDING_STEPS) return;
+
+        if (count == 0 || world.getStep() - lastCaptureStep >= PERIOD || cat.getPosition().x > furthestX + SPACING) {
+            capture();
+        }
+    }
+
+    /**
+     * Takes a checkpoint now, e.g. when the Cat enters a trigger. Call it between steps.
+     */
+    public void capture() {
+        byte[] bytes = WorldSnapshot.capture(world).toBytes();
+        Checkpoint checkpoint;
+        if (keyframe == null || sinceKeyframe >= KEYFRAME_INTERVAL - 1) {
+            keyframe = bytes;
+            sinceKeyframe = 0;
+            checkpoint = new Checkpoint(world.getCat().getPosition().x, keyframe, null, bytes.length);
+        } else {
+            sinceKeyframe++;
+            checkpoint = new Checkpoint(world.getCat().getPosition().x, keyframe,
+                    ByteDelta.encode(keyframe, bytes), bytes.length);
+        }
+
+        if (count == CAPACITY) {
+            ring[oldest] = checkpoint;
+            oldest = (oldest + 1) % CAPACITY;
+        } else {
+            ring[(oldest + count) % CAPACITY] = checkpoint;
+            count++;
+        }
+        lastCaptureStep = world.getStep();
+        furthestX = Math.max(furthestX, checkpoint.x);
+        captured++;
+    }
+
+    /**
+     * Puts the world back to the checkpoint closest to an x-position, the newest one if several are as close.
+     * @param x where the Cat was, e.g. where it fell
+     * @return false if there is no checkpoint yet
+     */
+    public boolean restoreNearest(float x) {
+        Checkpoint nearest = null;
+        for (int i = 0; i < count; i++) {
+            Checkpoint checkpoint = ring[(oldest + i) % CAPACITY];
+            if (nearest == null || Math.abs(checkpoint.x - x) <= Math.abs(nearest.x - x)) {
+                nearest = checkpoint;
+            }
+        }
+        if (nearest == null) return false;
+
+        long start = System.nanoTime();
+        byte[] bytes = nearest.delta == null ? nearest.keyframe : ByteDelta.decode(nearest.keyframe, nearest.delta);
+        WorldSnapshot.fromBytes(bytes).restore(world);
+        lastRestoreNanos = System.nanoTime() - start;
+        maxRestoreNanos = Math.max(maxRestoreNanos, lastRestoreNanos);
+        restored++;
+        return true;
+    }
+
+    /**
+     * Gets the number of checkpoints kept.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the memory the kept checkpoints take, in bytes. A keyframe shared by several checkpoints counts once.
+     */
+    public long getMemoryBytes() {
+        Set<byte[]> keyframes = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            Checkpoint checkpoint = ring[(oldest + i) % CAPACITY];
+            if (keyframes.add(checkpoint.keyframe)) bytes += checkpoint.keyframe.length;
+            if (checkpoint.delta != null) bytes += checkpoint.delta.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Summarises the checkpoints for logging.
+     */
+    public String report() {
+        long memory = getMemoryBytes();
+        long fullSize = 0;
+        for (int i = 0; i < count; i++) {
+            fullSize += ring[(oldest + i) % CAPACITY].fullSize;
+        }
+        return String.format("Checkpoints: %d of %d kept in %d bytes (%d per checkpoint, %d per full snapshot), "
+                        + "%d taken, %d restored (last %.3f ms, max %.3f ms)",
+                count, CAPACITY, memory, memory / Math.max(1, count), fullSize / Math.max(1, count),
+                captured, restored, lastRestoreNanos / 1e6, maxRestoreNanos / 1e6);
+    }
+
+    /**
+     * A checkpoint: where the Cat stood, and its snapshot, whole or as a delta against a keyframe.
+     */
+    private record Checkpoint(float x, byte[] keyframe, byte[] delta, int fullSize) {
+    }
+}
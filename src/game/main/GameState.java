@@ -1,66 +1,258 @@
 package game.main;
 
 import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
 
 /**
  * Class that handles saving and loading the game state.
+ * <p>
+ * Saves are binary, big-endian: magic "CATS", schema version (short), payload length (int), the payload,
+ * then a CRC32 of everything before it. Version 1's payload is the save time (long, epoch millis), level (byte),
+ * score (int), lives (int) and the cat's x and y (floats). Version 2 adds a {@link WorldSnapshot} of the level
+ * (length as an int, then its bytes; length 0 if there is none). Older saves are migrated when read: the text
+ * format the game used before (save.txt) is read as version 0, and versions 0 and 1 load without a snapshot.
+ * <p>
+ * A save is written to a temporary file, forced to disk and then moved over the old save in one step, so a crash
+ * mid-save leaves the previous save intact. Writes run on a background thread so the game never waits for the disk.
  */
 public class GameState {
+    public static final Path SAVE_FILE = Path.of("data/Save/save.dat");
+    /** The text save of older versions of the game, still read if there is no binary save. */
+    public static final Path LEGACY_SAVE_FILE = Path.of("data/Save/save.txt");
+
+    public static final int MAGIC = 0x43415453; // "CATS"
+    public static final short VERSION = 2;
+    private static final int HEADER_SIZE = 10;
+    private static final String LEGACY_TIMESTAMP = "# Save Timestamp: ";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
-     * Saves the current game state to a file.
+     * Saves the game state in the background. Saves are written one at a time, in the order they were made.
+     * @param data the state to save
+     * @param path where to save it
+     * @return completes when the save is safely on disk, or exceptionally if it failed
      */
-    public static void saveGame(int level, int score, int lives, float catX, float catY, File file) {
-        try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println("# Save Timestamp: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
-            writer.println(level);
-            writer.println(score);
-            writer.println(lives);
-            writer.println(catX);
-            writer.println(catY);
-        } catch (IOException e) {
-            e.printStackTrace();
+    public static CompletableFuture<Void> saveGame(GameData data, Path path) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(data, path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Writes a save on the calling thread: to a temporary file first, then moved over the old save atomically.
+     */
+    public static void write(GameData data, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encode(data));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
     /**
-     * Loads the saved game state from a file.
+     * Encodes a save in the current version.
+     */
+    public static byte[] encode(GameData data) {
+        byte[] snapshot = data.snapshot != null ? data.snapshot : new byte[0];
+        ByteBuffer payload = ByteBuffer.allocate(29 + snapshot.length);
+        payload.putLong(data.savedAt);
+        payload.put((byte) data.level);
+        payload.putInt(data.score);
+        payload.putInt(data.lives);
+        payload.putFloat(data.catX);
+        payload.putFloat(data.catY);
+        payload.putInt(snapshot.length);
+        payload.put(snapshot);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.capacity() + 4);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(payload.capacity());
+        buffer.put(payload.array());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a binary save of any version up to the current one.
+     * @param where names the source in error messages
+     * @throws IOException if it is not a save, is corrupt or is from a newer version of the game
+     */
+    public static GameData decode(byte[] bytes, String where) throws IOException {
+        if (bytes.length < HEADER_SIZE + 4) throw new IOException(where + ": too short to be a save");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != buffer.getInt(bytes.length - 4)) {
+            throw new IOException(where + ": checksum mismatch, the save is corrupt");
+        }
+        if (buffer.getInt() != MAGIC) throw new IOException(where + ": not a save file");
+        short version = buffer.getShort();
+        int length = buffer.getInt();
+        if (length != bytes.length - HEADER_SIZE - 4) throw new IOException(where + ": wrong payload length");
+
+        try {
+            return switch (version) {
+                case 1 -> new GameData(buffer.getLong(), buffer.get() & 0xFF, buffer.getInt(), buffer.getInt(),
+                        buffer.getFloat(), buffer.getFloat());
+                case 2 -> new GameData(buffer.getLong(), buffer.get() & 0xFF, buffer.getInt(), buffer.getInt(),
+                        buffer.getFloat(), buffer.getFloat(), readSnapshot(buffer));
+                default -> throw new IOException(where + ": unsupported save version " + version);
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IOException(where + ": truncated save", e);
+        }
+    }
+
+    /**
+     * Reads a length-prefixed snapshot, or null if the save has none.
+     */
+    private static byte[] readSnapshot(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == 0) return null;
+        if (length < 0 || length > buffer.remaining()) throw new BufferUnderflowException();
+        byte[] snapshot = new byte[length];
+        buffer.get(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Loads the saved game: the binary save, or the old text save if there is no usable binary one.
+     * @return the saved state, or null if there is no save or it can't be read
+     */
+    public static GameData loadGame() {
+        if (Files.exists(SAVE_FILE)) {
+            GameData data = loadGame(SAVE_FILE);
+            if (data != null) return data;
+        }
+        return Files.exists(LEGACY_SAVE_FILE) ? loadGame(LEGACY_SAVE_FILE) : null;
+    }
+
+    /**
+     * Returns whether there is a save to load.
+     */
+    public static boolean hasSave() {
+        return Files.exists(SAVE_FILE) || Files.exists(LEGACY_SAVE_FILE);
+    }
+
+    /**
+     * Loads a save file, binary or old text.
      * @return GameData object containing the loaded data, or null if failed.
      */
-    public static GameData loadGame(File file) {
-        try (Scanner scanner = new Scanner(file)) {
-            scanner.nextLine(); // Skip timestamp line
-            int level = Integer.parseInt(scanner.nextLine());
-            int score = Integer.parseInt(scanner.nextLine());
-            int lives = Integer.parseInt(scanner.nextLine());
-            float catX = Float.parseFloat(scanner.nextLine());
-            float catY = Float.parseFloat(scanner.nextLine());
-            return new GameData(level, score, lives, catX, catY);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
+    public static GameData loadGame(Path path) {
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            if (bytes.length >= 4 && ByteBuffer.wrap(bytes).getInt() == MAGIC) {
+                return decode(bytes, path.toString());
+            }
+            return migrateText(new String(bytes, StandardCharsets.UTF_8), path.toString());
+        } catch (IOException e) {
+            System.out.println("Could not load save: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the text save format (version 0): a timestamp comment, then the level, score, lives, and cat x and y,
+     * one per line. Blank lines and surrounding spaces are tolerated; a missing timestamp reads as 0.
+     */
+    static GameData migrateText(String text, String where) throws IOException {
+        List<String> lines = text.lines().map(String::trim).filter(line -> !line.isEmpty()).toList();
+        long savedAt = 0;
+        int first = 0;
+        if (!lines.isEmpty() && lines.get(0).startsWith("#")) {
+            first = 1;
+            if (lines.get(0).startsWith(LEGACY_TIMESTAMP)) {
+                try {
+                    savedAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                            .parse(lines.get(0).substring(LEGACY_TIMESTAMP.length())).getTime();
+                } catch (ParseException e) {
+                    // The timestamp is only informative
+                }
+            }
+        }
+        if (lines.size() - first < 5) throw new IOException(where + ": text save is missing fields");
+        try {
+            return new GameData(savedAt,
+                    Integer.parseInt(lines.get(first)),
+                    Integer.parseInt(lines.get(first + 1)),
+                    Integer.parseInt(lines.get(first + 2)),
+                    Float.parseFloat(lines.get(first + 3)),
+                    Float.parseFloat(lines.get(first + 4)));
+        } catch (NumberFormatException e) {
+            throw new IOException(where + ": text save has a bad field: " + e.getMessage());
         }
-        return null;
     }
 
     /**
      * A simple class to store saved game data.
      */
     public static class GameData {
+        public final long savedAt;
         public final int level;
         public final int score;
         public final int lives;
         public final float catX;
         public final float catY;
+        /** The level's {@link WorldSnapshot} bytes, or null for saves made before snapshots. */
+        public final byte[] snapshot;
 
         public GameData(int level, int score, int lives, float catX, float catY) {
+            this(System.currentTimeMillis(), level, score, lives, catX, catY, null);
+        }
+
+        public GameData(int level, int score, int lives, float catX, float catY, byte[] snapshot) {
+            this(System.currentTimeMillis(), level, score, lives, catX, catY, snapshot);
+        }
+
+        public GameData(long savedAt, int level, int score, int lives, float catX, float catY) {
+            this(savedAt, level, score, lives, catX, catY, null);
+        }
+
+        public GameData(long savedAt, int level, int score, int lives, float catX, float catY, byte[] snapshot) {
+            this.savedAt = savedAt;
             this.level = level;
             this.score = score;
             this.lives = lives;
             this.catX = catX;
             this.catY = catY;
+            this.snapshot = snapshot;
         }
     }
 }
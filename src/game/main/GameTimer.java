@@ -0,0 +1,88 @@
+package game.main;
+
+/**
+ * Handle for a timer scheduled on a {@link TimerWheel}.
+ * The timer runs on the world's step thread and only advances while the world is running.
+ */
+public class GameTimer {
+    private final TimerWheel wheel;
+    final Runnable action;
+    final int period;
+    long deadline;
+    boolean cancelled = false;
+    boolean suspended = false;
+    long remaining;
+
+    // Links in the wheel slot this timer currently sits in
+    GameTimer prev;
+    GameTimer next;
+
+    GameTimer(TimerWheel wheel, Runnable action, int period) {
+        this.wheel = wheel;
+        this.action = action;
+        this.period = period;
+    }
+
+    /**
+     * Creates the empty head node of a wheel slot.
+     */
+    static GameTimer sentinel() {
+        GameTimer head = new GameTimer(null, null, 0);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    /**
+     * Stops the timer. Does nothing if it already ran or was cancelled.
+     */
+    public void cancel() {
+        wheel.cancel(this);
+    }
+
+    /**
+     * Pauses the timer, keeping the time it still has to wait. Does nothing if it is already paused.
+     */
+    public void suspend() {
+        wheel.suspend(this);
+    }
+
+    /**
+     * Continues a paused timer from where it was paused.
+     */
+    public void resume() {
+        wheel.resume(this);
+    }
+
+    /**
+     * Returns true while the timer is paused.
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Returns true while the timer is still waiting to run (or to repeat).
+     */
+    public boolean isActive() {
+        return !cancelled;
+    }
+
+    boolean isLinked() {
+        return next != null;
+    }
+
+    void linkBefore(GameTimer head) {
+        prev = head.prev;
+        next = head;
+        head.prev.next = this;
+        head.prev = this;
+    }
+
+    void unlink() {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+    }
+}
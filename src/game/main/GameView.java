@@ -1,12 +1,13 @@
 package game.main;
 
 import city.cs.engine.UserView;
+import game.assets.AssetRegistry;
 import game.characters.Cat;
+import game.gui.HudLayer;
+import game.utils.VecMath;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
 import java.awt.*;
-import java.io.File;
 
 /**
  * The main game view that draws the background, HUD elements, and game world.
@@ -15,13 +16,16 @@ public class GameView extends UserView {
     private final Cat cat;
     private final GameWorld world;
     private Image background;
-    private boolean gameOver;
-    private boolean showGameOverMessage;
-    private long gameOverTime;
     private boolean gameWon = false;
     private Rectangle pauseButtonBounds = new Rectangle(10, 10, 160, 40);
-    private final Image nubellaIcon = new ImageIcon("data/Weapons/nubella.png").getImage();
-    private final Image rugIcon = new ImageIcon("data/Props/rugIcon.png").getImage();
+    private final HudLayer hud = new HudLayer(pauseButtonBounds);
+    private static final Color GAME_OVER_COLOR = new Color(0, 0, 0, 134);
+    private static final Color WIN_OVERLAY_COLOR = new Color(0, 0, 0, 171);
+    private Font winFont;
+    private int drawnLastFrame = 0;
+    private int culledLastFrame = 0;
+    private Runnable firstFrameAction;
+    private final Vec2 viewCentre = new Vec2(); // Reused every frame
 
     /**
      * Creates the game view and loads background.
@@ -30,9 +34,7 @@ public class GameView extends UserView {
         super(world, width, height);
         this.world = world;
         this.cat = cat;
-        background = new ImageIcon(world.getBackgroundImagePath()).getImage();
-        this.gameOver = false;
-        this.showGameOverMessage = false;
+        background = AssetRegistry.image(world, world.getBackgroundImagePath());
 
         setLayout(null);
         enableEvents(AWTEvent.MOUSE_EVENT_MASK);
@@ -58,7 +60,7 @@ public class GameView extends UserView {
     @Override
     protected void paintBackground(Graphics2D g) {
         // Centers the camera on the cat
-        setView(new Vec2(cat.getPosition().x, cat.getPosition().y + 10), 20f);
+        setView(VecMath.offset(cat.getPosition(), 0, 10, viewCentre), 20f);
         super.paintBackground(g);
 
         // Draw scrolling background
@@ -72,6 +74,16 @@ public class GameView extends UserView {
         g.drawImage(background, -offset + background.getWidth(null) - 100, -200, null);
 
         g.setComposite(original);
+
+        // Static tiles and scenery, skipping everything outside the camera
+        Vec2 centre = getCentre();
+        TileChunkRenderer tiles = world.getTileChunks();
+        SceneryLayer scenery = world.getScenery();
+        tiles.paint(g, centre, getZoom(), getWidth(), getHeight());
+        scenery.paint(g, centre, getZoom(), getWidth(), getHeight());
+
+        drawnLastFrame = tiles.getChunksDrawn() + scenery.getDrawn();
+        culledLastFrame = (tiles.getChunkCount() - tiles.getChunksDrawn()) + scenery.getCulled();
     }
 
 
@@ -79,62 +91,12 @@ public class GameView extends UserView {
     protected void paintForeground(Graphics2D g) {
         super.paintForeground(g);
 
-        Font pixelFont;
-        try {
-            pixelFont = Font.createFont(Font.TRUETYPE_FONT, new File("data/Fonts/victor-pixel.ttf")).deriveFont(30f);
-            g.setFont(pixelFont);
-        } catch (Exception e) {
-            pixelFont = new Font("Monospaced", Font.BOLD, 20);
-            g.setFont(pixelFont);
-        }
-
         int screenWidth = getWidth();
-        int xRight = screenWidth - 180;
-        int boxWidth = 200;
-        int boxHeight = 50;
-        int spacing = 15;
-        int iconSize = 30;
-
-        g.setColor(new Color(115, 101, 101, 252));
-
-        // Health Counter
-        g.fillRoundRect(xRight - 30, 10, boxWidth, boxHeight, 15, 15);
-        g.setColor(Color.WHITE);
-        g.drawString("Health: " + cat.getHealth(), xRight - 20, 40);
-
-        // Food Counter
-        g.setColor(new Color(115, 101, 101, 252));
-        g.fillRoundRect(xRight - 30, 70, boxWidth, boxHeight, 15, 15);
-        g.setColor(Color.WHITE);
-        g.drawImage(new ImageIcon("data/Pigeon/Food.png").getImage(), xRight - 20, 75, iconSize, iconSize, null);
-        g.drawString("x" + cat.getFoodCount(), xRight + iconSize + 20, 105);
+        g.setFont(hud.getFont());
+        hud.paint(g, cat, screenWidth);
 
-        // Nubella Counter
-        g.setColor(new Color(115, 101, 101, 252));
-        g.fillRoundRect(xRight - 30, 130, boxWidth, boxHeight, 15, 15);
-        g.setColor(Color.WHITE);
-        g.drawImage(nubellaIcon, xRight - 20, 135, iconSize, iconSize, null);
-        g.drawString("x" + cat.getNubellaCount(), xRight + iconSize + 20, 165);
-
-        // Rug Counter
-        g.setColor(new Color(115, 101, 101, 252));
-        g.fillRoundRect(xRight - 30, 190, boxWidth, boxHeight, 15, 15);
-        g.setColor(Color.WHITE);
-        g.drawImage(rugIcon, xRight - 20, 195, iconSize + 20, iconSize + 20, null);
-        g.drawString("x" + cat.getRugCounter(), xRight + iconSize + 20, 225);
-
-        // Pause Button
-        g.setColor(new Color(115, 101, 101, 252));
-        g.fillRoundRect(pauseButtonBounds.x, pauseButtonBounds.y, pauseButtonBounds.width, pauseButtonBounds.height, 15, 15);
-        g.setColor(Color.WHITE);
-        g.drawString("Pause", pauseButtonBounds.x + 25, pauseButtonBounds.y + 30);
-
-        // Game Over Logic
-        if ((cat.getPosition().y < -25 || cat.getHealth() <= 0) && !gameOver) {
-            startGameOverSequence();
-        }
-
-        if (showGameOverMessage && (System.currentTimeMillis() - gameOverTime) < 2000) {
+        // Game over is detected and timed by the world, on game steps
+        if (world.isGameOver()) {
             drawGameOverMessage(g, screenWidth);
         }
 
@@ -142,33 +104,28 @@ public class GameView extends UserView {
         if (gameWon) {
             drawWinMessage(g);
         }
-    }
-
 
+        if (firstFrameAction != null) {
+            Runnable action = firstFrameAction;
+            firstFrameAction = null;
+            action.run();
+        }
+    }
 
     /**
-     * Starts the game over sequence when cat dies or falls.
+     * Runs an action once, after the view has painted its first frame. Used to time level transitions.
      */
-    private void startGameOverSequence() {
-        gameOver = true;
-        showGameOverMessage = true;
-        gameOverTime = System.currentTimeMillis();
-
-        new Thread(() -> {
-            try {
-                Thread.sleep(2000);
-                world.respawnCat();
-                gameOver = false;
-                showGameOverMessage = false;
-            } catch (InterruptedException ignored) {}
-        }).start();
+    public void onFirstFrame(Runnable action) {
+        this.firstFrameAction = action;
     }
 
+
+
     /**
      * Draws "Game Over!" message at the center.
      */
     private void drawGameOverMessage(Graphics2D g, int screenWidth) {
-        g.setColor(new Color(0, 0, 0, 134));
+        g.setColor(GAME_OVER_COLOR);
         g.fillRoundRect(screenWidth / 2 - 80, getHeight() / 2 - 25, 250, 50, 15, 15);
         g.setColor(Color.WHITE);
         g.drawString("Game Over!", screenWidth / 2 - 50, getHeight() / 2);
@@ -178,13 +135,37 @@ public class GameView extends UserView {
      * Draws the "YOU WON!" message if the player wins.
      */
     private void drawWinMessage(Graphics2D g) {
-        g.setColor(new Color(0, 0, 0, 171));
+        if (winFont == null) {
+            winFont = hud.getFont().deriveFont(60f);
+        }
+        g.setColor(WIN_OVERLAY_COLOR);
         g.fillRect(0, 0, getWidth(), getHeight());
         g.setColor(Color.WHITE);
-        g.setFont(g.getFont().deriveFont(60f));
+        g.setFont(winFont);
         g.drawString("YOU WON!", getWidth() / 2 - 100, getHeight() / 2);
     }
 
+    /**
+     * Gets the HUD layer, e.g. to read how many HUD redraws the last frame needed.
+     */
+    public HudLayer getHud() {
+        return hud;
+    }
+
+    /**
+     * Gets how many tile chunks and scenery images were drawn in the last frame.
+     */
+    public int getDrawnLastFrame() {
+        return drawnLastFrame;
+    }
+
+    /**
+     * Gets how many tile chunks and scenery images were skipped as off-screen in the last frame.
+     */
+    public int getCulledLastFrame() {
+        return culledLastFrame;
+    }
+
     /**
      * Gets the rectangle bounds of the pause button.
      */
@@ -6,11 +6,25 @@ import javax.swing.*;
 import game.characters.Pigeon;
 import game.characters.ThiefCat;
 import game.characters.Cat;
+import game.assets.AssetRegistry;
+import game.inputs.InputAction;
+import game.inputs.InputRecorder;
+import game.main.SystemScheduler.Phase;
+import game.obstacles.MovingPlatform;
+import game.obstacles.StaticGeometry;
+import game.props.BalilaCart;
+import game.projectiles.ProjectilePool;
+import game.sounds.ScopedSoundSink;
+import game.sounds.SoundEffectManager;
+import game.sounds.SoundSink;
 import game.utils.Destructible;
 import org.jbox2d.common.Vec2;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Abstract base class that defines the shared behavior for all game levels.
@@ -25,26 +39,200 @@ public abstract class GameWorld extends World {
     protected GameView view;
     protected JFrame frame;
     protected List<Pigeon> pigeons = new ArrayList<>();
+    protected float preloadX = Float.POSITIVE_INFINITY; // Where the next level starts loading, set by levels
     private int thiefSpawnCounter = 0;
     private boolean thiefCatActive = false;
+    private final TimerWheel timers = new TimerWheel();
+    private final SpatialIndex spatialIndex = new SpatialIndex(8f);
+    private final StaticGeometry staticGeometry = new StaticGeometry();
+    private final TileChunkRenderer tileChunks = new TileChunkRenderer(this);
+    private final SceneryLayer scenery = new SceneryLayer(this);
+    private final ActivationManager activation = new ActivationManager();
+    private final LevelStreamer streamer = new LevelStreamer(this);
+    private final ProjectilePool projectiles = new ProjectilePool(this);
+    private final CheckpointRing checkpoints = new CheckpointRing(this);
+    private final SaveJournal journal;
+    private final SystemScheduler scheduler = new SystemScheduler();
+    private final List<LevelListener> levelListeners = new ArrayList<>();
+    private boolean levelCompleted = false;
+    private final long seed;
+    private final Random random;
+    private final Queue<InputAction> inputQueue = new ConcurrentLinkedQueue<>();
+    private InputRecorder inputRecorder;
+    private final ScopedSoundSink sounds;
+    private final WorldScope scope = new WorldScope(getClass().getSimpleName());
+    private int deaths = 0;
 
     /**
-     * Creates a new GameWorld and sets up the level and step listeners.
-     * @param frame the main application window
+     * Creates a new GameWorld with a random seed and sets up the level and step listeners.
+     * @param frame the main application window, or null when running without a window
      */
     public GameWorld(JFrame frame) {
+        this(frame, new Random().nextLong());
+    }
+
+    /**
+     * Creates a new GameWorld and sets up the level and step listeners.
+     * With the same seed and the same inputs on the same steps, two runs of a level are identical.
+     * @param frame the main application window, or null when running without a window
+     * @param seed seed for the world's random numbers
+     */
+    public GameWorld(JFrame frame, long seed) {
         super();
         this.frame = frame;
+        this.seed = seed;
+        this.random = new Random(seed);
+        // Only a world shown in a window makes sound; headless worlds stay silent and independent
+        this.sounds = new ScopedSoundSink(frame != null ? SoundEffectManager.getEngine() : SoundSink.SILENT);
+        // Likewise only a played world keeps an autosave journal
+        this.journal = new SaveJournal(this, frame != null);
+        addSystems();
+        addResources();
         createLevel();
+        // Builds the part of the layout around the cat, the rest is streamed in as it moves
+        streamer.update(cat.getPosition().x);
+        tileChunks.bakeAll();
 
-        // Adds step listener to check game over and thief spawning
-        this.addStepListener(new StepListener() {
-            public void preStep(StepEvent stepEvent) {
-                checkGameOver();
-                handleThiefSpawn();
-            }
-            public void postStep(StepEvent stepEvent) {}
+        // The scheduler is the world's only per-step listener for the level's own entities
+        this.addStepListener(scheduler);
+    }
+
+    /**
+     * Adds the per-step systems, before the level's entities are created and register with them.
+     * The camera focus (the cat, raised like in GameView) drives streaming, activation and projectile despawning.
+     */
+    private void addSystems() {
+        scheduler.add(Phase.INPUT, "input", this::applyInputs);
+        scheduler.add(Phase.INPUT, "spatial index", spatialIndex::update);
+        scheduler.add(Phase.AI, "timers", timers::tick);
+        scheduler.add(Phase.AI, "thief cats", ThiefCat.class, ThiefCat::update);
+        scheduler.add(Phase.AI, "balila carts", BalilaCart.class, BalilaCart::update);
+        scheduler.add(Phase.MOVEMENT, "platforms", MovingPlatform.class, MovingPlatform::move);
+        scheduler.add(Phase.ANIMATION, "cat", Cat.class, Cat::update);
+        scheduler.add(Phase.SPAWNING, "streaming", () -> streamer.update(cat.getPosition().x));
+        scheduler.add(Phase.SPAWNING, "activation", () -> {
+            Vec2 catPosition = cat.getPosition();
+            activation.update(getStep(), catPosition.x, catPosition.y + 10);
+        });
+        scheduler.add(Phase.SPAWNING, "thief spawn", this::handleThiefSpawn);
+        scheduler.add(Phase.CLEANUP, "projectiles", () -> {
+            Vec2 catPosition = cat.getPosition();
+            projectiles.update(catPosition.x, catPosition.y + 10);
         });
+        scheduler.add(Phase.CLEANUP, "game over", this::checkGameOver);
+        scheduler.add(Phase.CLEANUP, "checkpoints", checkpoints::update);
+        scheduler.add(Phase.CLEANUP, "journal", journal::update);
+    }
+
+    /**
+     * Registers everything the world keeps running or holds outside itself with its scope,
+     * so {@link #dispose()} can release it. Entity timers live in the world's timer wheel and entity
+     * updates in its scheduler, so they go with them.
+     */
+    private void addResources() {
+        AssetRegistry.nameLevel(this, "Level" + getLevelNumber());
+        scope.register("level asset references", () -> AssetRegistry.releaseLevel(this),
+                () -> AssetRegistry.getReferenceCounts(this).size());
+        scope.register("sounds played after exit", sounds::close, sounds::getPlaysAfterClose);
+        scope.register("pending timers", timers::cancelAll, timers::getPendingCount);
+        scope.register("autosave journal", journal::close);
+        scope.register("steps after exit", () -> {
+            removeStepListener(scheduler);
+            scheduler.close();
+        }, scheduler::getStepsAfterClose);
+        scope.register("level listeners", levelListeners::clear, levelListeners::size);
+        scope.register("queued inputs", () -> {
+            inputQueue.clear();
+            inputRecorder = null;
+        }, inputQueue::size);
+        scope.register("running world", this::stop, () -> isRunning() ? 1 : 0);
+    }
+
+    /**
+     * Leaves the level for good: stops it and releases everything registered with its {@link #getScope() scope},
+     * then reports anything that outlived it. Only the first call has an effect.
+     */
+    public void dispose() {
+        scope.close(this);
+    }
+
+    /**
+     * Gets the scope that owns what the world keeps running. Anything that must stop when the level is left
+     * (and isn't a timer or an entity update) registers with it.
+     */
+    public WorldScope getScope() {
+        return scope;
+    }
+
+    /**
+     * Applies the input actions queued since the last step, recording them if a recorder is set.
+     */
+    private void applyInputs() {
+        InputAction action;
+        while ((action = inputQueue.poll()) != null) {
+            if (inputRecorder != null) {
+                inputRecorder.record(getStep(), action);
+            }
+            action.apply(cat, this);
+        }
+    }
+
+    /**
+     * Queues a player action to be applied at the start of the next step.
+     * Safe to call from the Swing event thread.
+     */
+    public void queueInput(InputAction action) {
+        inputQueue.add(action);
+    }
+
+    /**
+     * Sets a recorder that logs every applied input action, or null to stop recording.
+     */
+    public void setInputRecorder(InputRecorder recorder) {
+        this.inputRecorder = recorder;
+    }
+
+    /**
+     * Gets the number of steps this world has run, which is the game clock.
+     */
+    public long getStep() {
+        return timers.getTick();
+    }
+
+    /**
+     * Gets where this world's sound effects are played.
+     */
+    public SoundSink getSounds() {
+        return sounds;
+    }
+
+    /**
+     * Sets where this world's sound effects are played, e.g. {@link SoundSink#SILENT}.
+     */
+    public void setSounds(SoundSink sounds) {
+        this.sounds.setDelegate(sounds);
+    }
+
+    /**
+     * Gets how many times the cat has died (fallen or lost all health) in this world.
+     */
+    public int getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Gets the seed the world's random numbers were created from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the world's random number generator. All gameplay randomness must come from here
+     * so a run can be reproduced from its seed.
+     */
+    public Random getRandom() {
+        return random;
     }
 
     /**
@@ -55,22 +243,138 @@ public abstract class GameWorld extends World {
     }
 
     /**
-     * Method that each level implements to create its own platforms, enemies, props, etc.
+     * Gets the timer wheel that runs game-time timers for this world.
+     * Timers advance with world steps, so they pause while the world is stopped.
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Gets the spatial index used for proximity queries between bodies.
+     */
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Gets the activation manager that decides which entities update at full rate, reduced rate or not at all.
+     */
+    public ActivationManager getActivation() {
+        return activation;
+    }
+
+    /**
+     * Gets the level streamer that builds the layout near the camera and tears down the rest.
+     */
+    public LevelStreamer getStreamer() {
+        return streamer;
+    }
+
+    /**
+     * Gets the scheduler that runs the world's per-step systems. Entities register with it instead of
+     * adding their own step listeners.
+     */
+    public SystemScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the pool of rocks and Nubella projectiles thrown by the cat.
+     */
+    public ProjectilePool getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * Gets the checkpoints the cat respawns at.
+     */
+    public CheckpointRing getCheckpoints() {
+        return checkpoints;
+    }
+
+    /**
+     * Gets the autosave journal that records the level's progress.
+     */
+    public SaveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the static geometry compiler that merges platform tiles, with its before/after counts.
+     */
+    public StaticGeometry getStaticGeometry() {
+        return staticGeometry;
+    }
+
+    /**
+     * Gets the renderer that draws the level's static tiles from baked chunks.
+     */
+    public TileChunkRenderer getTileChunks() {
+        return tileChunks;
+    }
+
+    /**
+     * Gets the layer that draws decorative images such as background props and ladders.
+     */
+    public SceneryLayer getScenery() {
+        return scenery;
+    }
+
+    /**
+     * Adds a listener that is told when the level is completed.
+     */
+    public void addLevelListener(LevelListener listener) {
+        levelListeners.add(listener);
+    }
+
+    /**
+     * Stops the world and notifies the level listeners that the level is completed.
+     * Only the first call has an effect.
+     */
+    public void completeLevel() {
+        if (levelCompleted) return;
+        levelCompleted = true;
+        journal.levelCompleted();
+        stop();
+        for (LevelListener listener : new ArrayList<>(levelListeners)) {
+            listener.levelCompleted(this);
+        }
+    }
+
+    /**
+     * Returns whether the cat has reached this level's win object.
+     */
+    public boolean isLevelCompleted() {
+        return levelCompleted;
+    }
+
+    /**
+     * Method that each level implements to create the cat, its level-wide bodies, and the layout
+     * of platforms, enemies, props, etc. that it hands to the {@link #getStreamer() streamer}.
      */
     protected abstract void createLevel();
 
+    /**
+     * Gets the x-position past which the next level is preloaded in the background.
+     */
+    public float getPreloadX() {
+        return preloadX;
+    }
+
     /**
      * Gets the current level number.
      */
     public abstract int getLevelNumber();
 
     /**
-     * Checks if the player has fallen too far and triggers game over.
+     * Checks if the player has fallen too far or lost all health and triggers game over.
      */
     protected void checkGameOver() {
-        if (!gameOver && cat.getPosition().y < MAIN_PLATFORM_Y - 5) {
+        if (!gameOver && (cat.getPosition().y < MAIN_PLATFORM_Y - 5 || cat.getHealth() <= 0)) {
             gameOver = true;
             gameOverCounter = 0;
+            deaths++;
         }
         if (gameOver) {
             gameOverCounter++;
@@ -81,11 +385,16 @@ public abstract class GameWorld extends World {
     }
 
     /**
-     * Respawns the cat at the starting position after game over.
+     * Respawns the cat after game over: the level goes back to the checkpoint nearest to where the cat was,
+     * or the cat goes back to the starting position if there is none yet.
      */
     protected void respawnCat() {
-        cat.setPosition(START_POSITION);
-        cat.setLinearVelocity(new Vec2(0, 0));
+        if (checkpoints.restoreNearest(cat.getPosition().x)) {
+            journal.snapshot(); // Progress since the checkpoint was undone
+        } else {
+            cat.setPosition(START_POSITION);
+            cat.setLinearVelocity(new Vec2(0, 0));
+        }
         gameOver = false;
     }
 
@@ -123,6 +432,7 @@ public abstract class GameWorld extends World {
      */
     public void addDestructible(Destructible d) {
         destructibles.add(d);
+        spatialIndex.add(d.getBody(), false);
     }
 
     /**
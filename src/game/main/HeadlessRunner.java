@@ -0,0 +1,254 @@
+package game.main;
+
+import game.inputs.InputAction;
+import game.inputs.InputRecorder;
+import game.levels.Level1;
+import game.levels.Level2;
+import game.levels.Level3;
+import game.obstacles.StaticGeometry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Runs a level without a window: builds the world, steps it at a fixed rate or as fast as possible,
+ * feeds scripted input to the cat and prints performance numbers at the end.
+ * Meant for CI performance jobs and soak tests on machines without a display.
+ *
+ * <p>Usage: {@code HeadlessRunner <level> [steps] [--realtime] [--seed n] [--script file] [--record file] [--unmerged]}.
+ * {@code --unmerged} builds platform tops one body per tile, to compare the static contact count with a merged run.
+ * A script has one {@code <step> <ACTION>} pair per line (see {@link InputAction}); {@code #} starts a comment.</p>
+ */
+public class HeadlessRunner {
+    private final GameWorld world;
+    private final Map<Integer, List<InputAction>> script;
+    private boolean completed = false;
+    private int completedAtStep = -1;
+
+    /**
+     * Creates a runner for a level.
+     * @param world the level to run (created without a frame)
+     * @param script actions to apply, keyed by the step they happen on
+     */
+    public HeadlessRunner(GameWorld world, Map<Integer, List<InputAction>> script) {
+        this.world = world;
+        this.script = script;
+        world.addLevelListener(w -> completed = true);
+    }
+
+    /**
+     * Creates a level without a window, with a random seed.
+     * @param level level number (1 to 3)
+     */
+    public static GameWorld createLevel(int level) {
+        return createLevel(level, new Random().nextLong());
+    }
+
+    /**
+     * Creates a level without a window.
+     * @param level level number (1 to 3)
+     * @param seed seed for the level's random numbers
+     */
+    public static GameWorld createLevel(int level, long seed) {
+        return switch (level) {
+            case 1 -> new Level1(null, seed);
+            case 2 -> new Level2(null, seed);
+            case 3 -> new Level3(null, seed);
+            default -> throw new IllegalArgumentException("Invalid level: " + level);
+        };
+    }
+
+    /**
+     * Steps the world until the step limit is reached or the level is completed.
+     * @param maxSteps maximum number of steps to run
+     * @param realtime true to run at the engine's 60 steps per second, false to run as fast as possible
+     * @return the number of steps run
+     */
+    public int run(int maxSteps, boolean realtime) {
+        long stepNanos = 1_000_000_000L / TimerWheel.STEPS_PER_SECOND;
+        long next = System.nanoTime();
+        int step = 0;
+
+        while (step < maxSteps && !completed) {
+            List<InputAction> actions = script.get(step);
+            if (actions != null) {
+                for (InputAction action : actions) {
+                    world.queueInput(action);
+                }
+            }
+
+            world.oneStep();
+            step++;
+            if (completed) completedAtStep = step;
+
+            if (realtime) {
+                next += stepNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        return step;
+    }
+
+    /**
+     * Returns the step the level was completed on, or -1 if it wasn't.
+     */
+    public int getCompletedAtStep() {
+        return completedAtStep;
+    }
+
+    /**
+     * Reads a script file of {@code <step> <ACTION>} lines.
+     */
+    public static Map<Integer, List<InputAction>> loadScript(Path file) throws IOException {
+        Map<Integer, List<InputAction>> script = new TreeMap<>();
+        for (String line : Files.readAllLines(file)) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            String[] parts = line.split("\\s+");
+            int step = Integer.parseInt(parts[0]);
+            script.computeIfAbsent(step, k -> new ArrayList<>()).add(InputAction.valueOf(parts[1].toUpperCase()));
+        }
+        return script;
+    }
+
+    /**
+     * Built-in script: keep walking right, jumping and throwing rocks at regular intervals.
+     */
+    public static Map<Integer, List<InputAction>> defaultScript(int steps) {
+        Map<Integer, List<InputAction>> script = new TreeMap<>();
+        for (int step = 0; step < steps; step++) {
+            List<InputAction> actions = new ArrayList<>();
+            if (step % 30 == 0) actions.add(InputAction.WALK_RIGHT);
+            if (step % 90 == 45) actions.add(InputAction.JUMP);
+            if (step % 120 == 60) actions.add(InputAction.THROW_ROCK);
+            if (!actions.isEmpty()) script.put(step, actions);
+        }
+        return script;
+    }
+
+    /**
+     * Seeded random script: mostly walking right, with jumps, throws and other actions mixed in.
+     * The same seed always gives the same script.
+     */
+    public static Map<Integer, List<InputAction>> randomScript(long seed, int steps) {
+        Random random = new Random(seed);
+        Map<Integer, List<InputAction>> script = new TreeMap<>();
+        InputAction[] extras = {InputAction.THROW_ROCK, InputAction.EAT, InputAction.SCRATCH,
+                InputAction.START_SHIELD, InputAction.STOP_SHIELD};
+
+        int step = 0;
+        while (step < steps) {
+            List<InputAction> actions = new ArrayList<>();
+            int roll = random.nextInt(10);
+            if (roll < 6) actions.add(InputAction.WALK_RIGHT);
+            else if (roll < 7) actions.add(InputAction.WALK_LEFT);
+            if (random.nextInt(3) == 0) actions.add(InputAction.JUMP);
+            if (random.nextInt(4) == 0) actions.add(extras[random.nextInt(extras.length)]);
+            if (!actions.isEmpty()) script.put(step, actions);
+            step += 10 + random.nextInt(50);
+        }
+        return script;
+    }
+
+    /**
+     * Runs a level from the command line and prints the results.
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            System.out.println("Usage: HeadlessRunner <level> [steps] [--realtime] [--seed n] [--script file] [--record file] [--unmerged]");
+            return;
+        }
+        int level = Integer.parseInt(args[0]);
+        int steps = 3600;
+        boolean realtime = false;
+        Path scriptFile = null;
+        Path recordFile = null;
+        long seed = new Random().nextLong();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--realtime" -> realtime = true;
+                case "--script" -> scriptFile = Path.of(args[++i]);
+                case "--record" -> recordFile = Path.of(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--unmerged" -> System.setProperty(StaticGeometry.MERGE_PROPERTY, "false");
+                default -> steps = Integer.parseInt(args[i]);
+            }
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long loadStart = System.nanoTime();
+        GameWorld world = createLevel(level, seed);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        Map<Integer, List<InputAction>> script = scriptFile != null ? loadScript(scriptFile) : defaultScript(steps);
+        HeadlessRunner runner = new HeadlessRunner(world, script);
+        InputRecorder recorder = null;
+        if (recordFile != null) {
+            recorder = new InputRecorder(recordFile.toFile(), world);
+            world.setInputRecorder(recorder);
+        }
+
+        long allocatedBefore = allocatedBytes(threads, threadId);
+        long start = System.nanoTime();
+        int ran = runner.run(steps, realtime);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = allocatedBefore >= 0 ? allocatedBytes(threads, threadId) - allocatedBefore : -1;
+        if (recorder != null) recorder.finish(world);
+
+        System.out.printf("Level %d (seed %d): %d steps in %.2f s (%.0f steps/s), loaded in %.1f ms%n",
+                level, seed, ran, seconds, ran / seconds, loadNanos / 1e6);
+        System.out.printf("Bodies: %d dynamic, %d static, %d indexed, %d timers pending%n",
+                world.getDynamicBodies().size(), world.getStaticBodies().size(),
+                world.getSpatialIndex().size(), world.getTimers().getPendingCount());
+        System.out.println(world.getStaticGeometry().report(world.getClass().getSimpleName()));
+        System.out.println(world.getActivation().report());
+        System.out.println(world.getStreamer().report());
+        System.out.println(world.getProjectiles().report());
+        System.out.println(world.getCheckpoints().report());
+        System.out.println(world.getScheduler().report());
+        if (allocated >= 0) {
+            System.out.printf("Allocation: %.1f MB total, %.1f MB/s, %.0f bytes/step%n",
+                    allocated / 1e6, allocated / 1e6 / seconds, (double) allocated / Math.max(1, ran));
+        }
+        System.out.println(runner.getCompletedAtStep() >= 0
+                ? "Level completed at step " + runner.getCompletedAtStep()
+                : "Level not completed");
+        // Prints a leak report if anything outlives the world
+        world.dispose();
+        System.exit(0);
+    }
+
+    /**
+     * Returns the bytes allocated by a thread so far, or -1 if the JVM can't tell.
+     */
+    private static long allocatedBytes(ThreadMXBean threads, long threadId) {
+        if (threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemorySupported()) {
+            return sunThreads.getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+}
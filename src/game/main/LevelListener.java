@@ -0,0 +1,14 @@
+package game.main;
+
+/**
+ * Receives notifications about a level's progress, e.g. to show the next level in the window
+ * or to end a headless run.
+ */
+public interface LevelListener {
+
+    /**
+     * Called once when the cat reaches the level's win object. The world has already been stopped.
+     * @param world the completed level
+     */
+    void levelCompleted(GameWorld world);
+}
@@ -0,0 +1,156 @@
+package game.main;
+
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+import game.assets.AssetRegistry;
+import game.sounds.MusicManager;
+import game.sounds.MusicStream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Builds the next level in the background while the current one is played, so a level transition
+ * only has to swap in a ready world. Once the cat passes the current level's preload point, the next world
+ * (bodies near its start, static geometry and baked tiles), its background image and the start of its
+ * music are prepared on a low-priority thread. The preload point can be overridden for every level
+ * with -Dgame.preloadX=&lt;x&gt;.
+ */
+public class LevelPreloader implements StepListener {
+    public static final String TRIGGER_PROPERTY = "game.preloadX";
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "level-preloader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY); // Never compete with the running level
+        return thread;
+    });
+
+    private final GameWorld current;
+    private final float triggerX;
+    private final Supplier<GameWorld> factory;
+    private final String musicPath;
+    private CompletableFuture<GameWorld> nextWorld;
+    private boolean taken = false;
+    private volatile MusicStream music;
+    private volatile double buildMillis = -1;
+
+    /**
+     * Creates a preloader that watches the cat in the current world.
+     * @param current the level being played
+     * @param factory creates the next level; called on the preloader thread
+     * @param musicPath the next level's music, or null for none
+     */
+    public LevelPreloader(GameWorld current, Supplier<GameWorld> factory, String musicPath) {
+        this.current = current;
+        this.factory = factory;
+        this.musicPath = musicPath;
+        String override = System.getProperty(TRIGGER_PROPERTY);
+        this.triggerX = override != null ? Float.parseFloat(override) : current.getPreloadX();
+        current.addStepListener(this);
+    }
+
+    /**
+     * Starts preloading once the cat passes the preload point.
+     */
+    @Override
+    public void preStep(StepEvent e) {
+        if (current.getCat().getPosition().x >= triggerX) {
+            start();
+        }
+    }
+
+    @Override
+    public void postStep(StepEvent e) {
+        // Nothing needed here
+    }
+
+    /**
+     * Starts building the next level in the background, if it hasn't started yet.
+     */
+    public synchronized void start() {
+        if (nextWorld != null) return;
+        current.removeStepListener(this);
+        nextWorld = CompletableFuture.supplyAsync(this::build, EXECUTOR);
+    }
+
+    /**
+     * Builds the next level and warms up what its first frame needs. Runs on the preloader thread.
+     */
+    private GameWorld build() {
+        long start = System.nanoTime();
+        GameWorld world = factory.get();
+        AssetRegistry.image(world, world.getBackgroundImagePath());
+        if (musicPath != null) {
+            music = MusicManager.prepare(musicPath, true);
+        }
+        buildMillis = (System.nanoTime() - start) / 1e6;
+        return world;
+    }
+
+    /**
+     * Returns whether the next level has finished building.
+     */
+    public synchronized boolean isReady() {
+        return nextWorld != null && nextWorld.isDone();
+    }
+
+    /**
+     * Gets the next level, waiting for the preloader to finish it (or building it now if preloading never started).
+     */
+    public GameWorld take() {
+        start();
+        synchronized (this) {
+            taken = true;
+        }
+        try {
+            return nextWorld.join();
+        } catch (CompletionException e) {
+            System.out.println("Preloading the next level failed, building it now: " + e.getCause());
+            buildMillis = -1;
+            return factory.get();
+        }
+    }
+
+    /**
+     * Gets the next level's music ready to fade in, prefilled if preloading got that far.
+     * Returns null if the level has no music.
+     */
+    public MusicStream takeMusic() {
+        if (musicPath == null) return null;
+        MusicStream prepared = music;
+        music = null;
+        return prepared != null ? prepared : new MusicStream(musicPath, true, -40f);
+    }
+
+    /**
+     * Gets how long the background build took in milliseconds, or -1 if it didn't finish in the background.
+     */
+    public double getBuildMillis() {
+        return buildMillis;
+    }
+
+    /**
+     * Stops watching the current level and throws away anything already preloaded,
+     * e.g. when the player leaves to the main menu. Does nothing to a level that was already taken.
+     */
+    public void cancel() {
+        CompletableFuture<GameWorld> pending;
+        synchronized (this) {
+            current.removeStepListener(this);
+            if (taken) return;
+            pending = nextWorld;
+            nextWorld = CompletableFuture.completedFuture(null); // Nothing more will be started
+        }
+        if (pending != null) {
+            pending.thenAccept(world -> {
+                world.dispose();
+                MusicStream prepared = music;
+                if (prepared != null) prepared.stop();
+            });
+        }
+    }
+}
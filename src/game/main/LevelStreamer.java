@@ -0,0 +1,366 @@
+package game.main;
+
+import city.cs.engine.Body;
+import game.levels.LevelLayout;
+import game.levels.LevelSpawner;
+import game.levels.Placement;
+import org.jbox2d.common.Vec2;
+
+import java.util.*;
+
+/**
+ * Streams a level along the X axis. The layout is split into fixed-width chunks and only the placements
+ * overlapping the chunks near the camera exist in the world: chunks ahead of the cat are built before
+ * they come into view and chunks left far behind are torn down. Boxes that were broken, pickups that were
+ * collected and enemies that were killed are remembered, so they don't come back when a chunk reloads.
+ * Pickups dropped during play are streamed like the rest of the level.
+ */
+public class LevelStreamer {
+
+    /** Width of a chunk in world units. */
+    public static final float CHUNK_WIDTH = 32f;
+    /** Chunks within this distance of the focus are loaded. Further than the reduced activation band. */
+    public static final float LOAD_DISTANCE = 64f;
+    /** Loaded chunks are only unloaded once they are this far away, so turning back doesn't rebuild them. */
+    public static final float UNLOAD_DISTANCE = 96f;
+
+    private final GameWorld world;
+    private final List<Placement> placements = new ArrayList<>();
+    private final Map<Integer, List<Integer>> chunks = new HashMap<>();
+    private final Map<Integer, Object> live = new HashMap<>();
+    private final Map<Object, Integer> ids = new IdentityHashMap<>();
+    // Used-up entities that stay in the world for a while, e.g. a rolling paint bucket
+    private final Map<Integer, Body> usedAlive = new HashMap<>();
+    private final BitSet used = new BitSet();
+
+    private int layoutSize = 0;
+    private boolean loaded = false;
+    private int loadedMin = 0;
+    private int loadedMax = -1;
+    private long spawned = 0;
+    private long despawned = 0;
+    private int peakLive = 0;
+
+    /**
+     * Creates a level streamer for a world.
+     */
+    public LevelStreamer(GameWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Adds every placement of a layout. Nothing is built until the next {@link #update}.
+     */
+    public void setLayout(LevelLayout layout) {
+        for (Placement placement : layout.getPlacements()) {
+            register(placement);
+        }
+        layoutSize = placements.size();
+    }
+
+    /**
+     * Records a placement and the chunks it overlaps.
+     * @return the placement's id
+     */
+    private int register(Placement placement) {
+        int id = placements.size();
+        placements.add(placement);
+        for (int chunk = chunkOf(placement.minX()); chunk <= chunkOf(placement.maxX()); chunk++) {
+            chunks.computeIfAbsent(chunk, k -> new ArrayList<>()).add(id);
+        }
+        return id;
+    }
+
+    /**
+     * Loads and unloads chunks around the camera focus. Called once per step; only does work
+     * when the focus crosses into a new chunk.
+     * @param focusX x of the world point the camera is centred on
+     */
+    public void update(float focusX) {
+        int loadMin = chunkOf(focusX - LOAD_DISTANCE);
+        int loadMax = chunkOf(focusX + LOAD_DISTANCE);
+        int keepMin = chunkOf(focusX - UNLOAD_DISTANCE);
+        int keepMax = chunkOf(focusX + UNLOAD_DISTANCE);
+
+        int newMin, newMax;
+        if (!loaded) {
+            newMin = loadMin;
+            newMax = loadMax;
+        } else {
+            newMin = loadMin < loadedMin ? loadMin : Math.max(loadedMin, keepMin);
+            newMax = loadMax > loadedMax ? loadMax : Math.min(loadedMax, keepMax);
+        }
+        if (loaded && newMin == loadedMin && newMax == loadedMax) return;
+        usedAlive.values().removeIf(body -> body.getWorld() == null);
+
+        // Tear down what is no longer near, then build what has come near
+        int oldMin = loadedMin, oldMax = loadedMax;
+        for (int chunk = oldMin; chunk <= oldMax; chunk++) {
+            if (chunk < newMin || chunk > newMax) unloadChunk(chunk, newMin, newMax);
+        }
+        loadedMin = newMin;
+        loadedMax = newMax;
+        boolean built = false;
+        for (int chunk = newMin; chunk <= newMax; chunk++) {
+            if (!loaded || chunk < oldMin || chunk > oldMax) built |= loadChunk(chunk);
+        }
+        loaded = true;
+
+        // Bake the new tiles now, while they are still off-screen, rather than when first painted
+        if (built) world.getTileChunks().bakeAll();
+        peakLive = Math.max(peakLive, live.size());
+    }
+
+    /**
+     * Builds the placements of a chunk that aren't built or used up yet.
+     * @return whether anything was built
+     */
+    private boolean loadChunk(int chunk) {
+        List<Integer> chunkIds = chunks.get(chunk);
+        if (chunkIds == null) return false;
+
+        boolean built = false;
+        for (int id : chunkIds) {
+            if (!live.containsKey(id)) built |= spawn(id);
+        }
+        return built;
+    }
+
+    /**
+     * Tears down the placements of a chunk unless they still overlap the loaded range.
+     */
+    private void unloadChunk(int chunk, int keepMin, int keepMax) {
+        List<Integer> chunkIds = chunks.get(chunk);
+        if (chunkIds == null) return;
+
+        for (int id : chunkIds) {
+            Placement placement = placements.get(id);
+            if (chunkOf(placement.maxX()) >= keepMin && chunkOf(placement.minX()) <= keepMax) continue;
+
+            Object entity = live.remove(id);
+            if (entity != null) {
+                ids.remove(entity);
+                LevelSpawner.despawn(entity);
+                despawned++;
+            }
+        }
+    }
+
+    /**
+     * Builds one placement, unless it has been used up. Laundry strings are always rebuilt.
+     * @return whether anything was built
+     */
+    private boolean spawn(int id) {
+        Placement placement = placements.get(id);
+        boolean isUsed = used.get(id);
+        if (isUsed && placement.kind() != Placement.Kind.LAUNDRY_STRING) return false;
+
+        Object entity = LevelSpawner.spawn(world, placement, isUsed);
+        live.put(id, entity);
+        ids.put(entity, id);
+        spawned++;
+        return true;
+    }
+
+    /**
+     * Remembers that a streamed entity has been used up: a box broken, a pickup collected, an enemy killed
+     * or a rug dropped. The entity is no longer managed by the streamer, and is not rebuilt when its chunk reloads.
+     * A laundry string is the exception: it stays managed and is rebuilt without its rug.
+     * Does nothing for entities the streamer didn't build.
+     */
+    public void markUsed(Object entity) {
+        Integer id = ids.get(entity);
+        if (id == null) return;
+        used.set(id);
+        world.getJournal().used(id);
+        if (placements.get(id).kind() == Placement.Kind.LAUNDRY_STRING) return; // Stays built, without its rug
+        ids.remove(entity);
+        live.remove(id);
+        // Kept until it is gone, so a restore that brings the placement back can remove it first
+        if (entity instanceof Body body) usedAlive.put(id, body);
+    }
+
+    /**
+     * Uses up a placement by id, tearing down its entity if it is built, e.g. when replaying a save journal.
+     * A laundry string is rebuilt without its rug.
+     */
+    public void markUsed(int id) {
+        if (id < 0 || id >= placements.size() || used.get(id)) return;
+        used.set(id);
+        tearDown(id);
+        if (isLoaded(placements.get(id))) spawn(id);
+    }
+
+    /**
+     * Drops a pickup (or other placement) during play. It is built straight away if its chunk is loaded,
+     * and streamed with the rest of the level from then on.
+     * @param kind what to drop
+     * @param position where to drop it
+     */
+    public void drop(Placement.Kind kind, Vec2 position) {
+        int id = register(Placement.at(kind, position.x, position.y));
+        world.getJournal().dropped(kind, position);
+        if (isLoaded(placements.get(id))) {
+            spawn(id);
+            peakLive = Math.max(peakLive, live.size());
+        }
+    }
+
+    /**
+     * Puts the level back into the state of a snapshot: which placements are used up and which pickups were
+     * dropped. Only what differs is torn down or built, then the chunks around the new focus are streamed in.
+     * Used-up entities that are still around, like a rolling paint bucket, are removed.
+     * @param usedThen the used-up placements of the snapshot
+     * @param dropsThen the placements dropped during play, in the order they were dropped
+     * @param focusX x of the world point the camera will be centred on
+     */
+    public void restore(BitSet usedThen, List<Placement> dropsThen, float focusX) {
+        // Used-up entities still in the world aren't part of any snapshot
+        for (Body leftover : usedAlive.values()) {
+            if (leftover.getWorld() != null) {
+                LevelSpawner.despawn(leftover);
+                despawned++;
+            }
+        }
+        usedAlive.clear();
+
+        // Drops are only ever appended, so keep what the snapshot shares and forget the rest
+        int common = 0;
+        int dropCount = placements.size() - layoutSize;
+        while (common < dropCount && common < dropsThen.size()
+                && sameDrop(placements.get(layoutSize + common), dropsThen.get(common))) {
+            common++;
+        }
+        for (int id = placements.size() - 1; id >= layoutSize + common; id--) {
+            forget(id);
+        }
+
+        BitSet changed = (BitSet) used.clone();
+        changed.xor(usedThen);
+        used.clear();
+        used.or(usedThen);
+        for (int id = changed.nextSetBit(0); id >= 0 && id < placements.size(); id = changed.nextSetBit(id + 1)) {
+            tearDown(id);
+            if (isLoaded(placements.get(id))) spawn(id);
+        }
+
+        for (int i = common; i < dropsThen.size(); i++) {
+            int id = register(dropsThen.get(i));
+            if (isLoaded(placements.get(id))) spawn(id);
+        }
+        update(focusX);
+        peakLive = Math.max(peakLive, live.size());
+    }
+
+    /**
+     * Tears down and unregisters the last placement (a dropped one).
+     */
+    private void forget(int id) {
+        tearDown(id);
+        Placement placement = placements.remove(id);
+        for (int chunk = chunkOf(placement.minX()); chunk <= chunkOf(placement.maxX()); chunk++) {
+            List<Integer> chunkIds = chunks.get(chunk);
+            chunkIds.remove(chunkIds.lastIndexOf(id));
+        }
+        used.clear(id);
+    }
+
+    /**
+     * Removes whatever a placement has in the world: its built entity, or a used-up one still around.
+     */
+    private void tearDown(int id) {
+        Object entity = live.remove(id);
+        if (entity != null) {
+            ids.remove(entity);
+            LevelSpawner.despawn(entity);
+            despawned++;
+        }
+        Body leftover = usedAlive.remove(id);
+        if (leftover != null && leftover.getWorld() != null) {
+            LevelSpawner.despawn(leftover);
+            despawned++;
+        }
+    }
+
+    private static boolean sameDrop(Placement a, Placement b) {
+        return a.kind() == b.kind() && a.x() == b.x() && a.y() == b.y();
+    }
+
+    /**
+     * Returns whether a placement overlaps the loaded chunks.
+     */
+    private boolean isLoaded(Placement placement) {
+        return loaded && chunkOf(placement.maxX()) >= loadedMin && chunkOf(placement.minX()) <= loadedMax;
+    }
+
+    /**
+     * Gets the number of placements that come from the level's layout, before any drops.
+     */
+    public int getLayoutSize() {
+        return layoutSize;
+    }
+
+    /**
+     * Gets a copy of which placements are used up, by placement id.
+     */
+    public BitSet getUsed() {
+        return (BitSet) used.clone();
+    }
+
+    /**
+     * Gets the placements dropped during play, in the order they were dropped.
+     */
+    public List<Placement> getDrops() {
+        return new ArrayList<>(placements.subList(layoutSize, placements.size()));
+    }
+
+    /**
+     * Gets the entities currently built, by placement id.
+     */
+    public Map<Integer, Object> getLiveEntities() {
+        return Collections.unmodifiableMap(live);
+    }
+
+    /**
+     * Gets the chunk an x-position falls in.
+     */
+    private static int chunkOf(float x) {
+        return (int) Math.floor(x / CHUNK_WIDTH);
+    }
+
+    /**
+     * Gets the number of placements, including pickups dropped during play.
+     */
+    public int getPlacementCount() {
+        return placements.size();
+    }
+
+    /**
+     * Gets the number of placements currently built in the world.
+     */
+    public int getLiveCount() {
+        return live.size();
+    }
+
+    /**
+     * Gets the number of placements that have been used up.
+     */
+    public int getUsedCount() {
+        return used.cardinality();
+    }
+
+    /**
+     * Gets the number of chunks currently loaded.
+     */
+    public int getLoadedChunks() {
+        return loaded ? loadedMax - loadedMin + 1 : 0;
+    }
+
+    /**
+     * Summarises the streamer's counts, e.g. for the headless runner.
+     */
+    public String report() {
+        return String.format("Streaming: %d of %d placements live (peak %d), %d chunks loaded, %d used up, %d built, %d torn down",
+                live.size(), placements.size(), peakLive, getLoadedChunks(), getUsedCount(), spawned, despawned);
+    }
+}
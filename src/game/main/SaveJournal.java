@@ -0,0 +1,491 @@
+package game.main;
+
+import game.characters.Cat;
+import game.levels.Placement;
+import org.jbox2d.common.Vec2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * An autosave journal, so progress survives the game being closed or crashing without a save.
+ * While a level is played, its world appends what happens to an append-only log: a full
+ * {@link WorldSnapshot} when the level starts and every {@link #SNAPSHOT_PERIOD} steps, and in between the
+ * placements used up (pickups collected, boxes broken, enemies killed), the pickups dropped, the Cat's position
+ * and counters once a second, and the level's completion. Leaving the level normally marks the journal closed.
+ * <p>
+ * The step thread only queues records; a background thread writes them in batches at least every
+ * {@link #FLUSH_INTERVAL_MILLIS} ms, or sooner once {@link #BATCH_SIZE} are waiting. If the writer falls
+ * behind, position samples are dropped, never the other records. A snapshot starts a new journal file,
+ * written aside and moved into place, since recovery only needs the last snapshot and what came after it.
+ * <p>
+ * The file is magic "CATJ" and version (short), then batches: length (int), CRC32 of the records (int), records.
+ * A record is its type (byte) and a fixed payload, or a length-prefixed one for snapshots. A batch torn by a crash
+ * fails its checksum, and recovery stops before it.
+ */
+public class SaveJournal {
+    public static final Path JOURNAL_FILE = Path.of("data/Save/journal.dat");
+
+    public static final int MAGIC = 0x4341544A; // "CATJ"
+    public static final short VERSION = 1;
+    /** Longest a queued record waits before it is written. */
+    public static final long FLUSH_INTERVAL_MILLIS = 250;
+    /** Records queued before the writer is woken early. */
+    public static final int BATCH_SIZE = 64;
+    /** Queued records above which position samples are dropped. */
+    public static final int SAMPLE_LIMIT = 256;
+    /** Steps between position samples. */
+    public static final int SAMPLE_PERIOD = TimerWheel.millisToSteps(1000);
+    /** Steps between full snapshots. */
+    public static final int SNAPSHOT_PERIOD = TimerWheel.millisToSteps(30000);
+    private static final int HEADER_SIZE = 6;
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte USED = 2;
+    private static final byte DROP = 3;
+    private static final byte POSITION = 4;
+    private static final byte LEVEL_COMPLETED = 5;
+    private static final byte CLOSED = 6;
+
+    private static final Writer WRITER = new Writer(JOURNAL_FILE);
+
+    private final GameWorld world;
+    private final boolean enabled;
+    private volatile boolean started = false;
+    private volatile boolean closed = false;
+    private long lastSample = 0;
+    private long lastSnapshot = 0;
+
+    /**
+     * Creates a world's journal. Nothing is written until the world's first step.
+     * @param enabled false for worlds that shouldn't touch the save, e.g. headless ones
+     */
+    public SaveJournal(GameWorld world, boolean enabled) {
+        this.world = world;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts the journal with a snapshot on the first step, then samples the Cat and takes snapshots
+     * when they are due. Called once per step, after the physics step.
+     */
+    public void update() {
+        if (!enabled || closed) return;
+        long step = world.getStep();
+        if (!started || step - lastSnapshot >= SNAPSHOT_PERIOD) {
+            snapshot();
+        } else if (step - lastSample >= SAMPLE_PERIOD) {
+            lastSample = step;
+            Cat cat = world.getCat();
+            Vec2 position = cat.getPosition();
+            ByteBuffer record = ByteBuffer.allocate(17);
+            record.put(POSITION);
+            record.putFloat(position.x);
+            record.putFloat(position.y);
+            record.putShort((short) cat.getHealth());
+            record.putShort((short) cat.getFoodCount());
+            record.putShort((short) cat.getNubellaCount());
+            record.putShort((short) cat.getRugCounter());
+            WRITER.offer(record.array());
+        }
+    }
+
+    /**
+     * Starts the journal over from a snapshot of the world as it is now, e.g. after the level was put back
+     * to a checkpoint and the records since the last snapshot no longer apply.
+     */
+    public void snapshot() {
+        if (!enabled || closed) return;
+        byte[] snapshot = WorldSnapshot.capture(world).toBytes();
+        ByteBuffer record = ByteBuffer.allocate(5 + snapshot.length);
+        record.put(SNAPSHOT);
+        record.putInt(snapshot.length);
+        record.put(snapshot);
+        WRITER.offer(record.array());
+        started = true;
+        lastSnapshot = lastSample = world.getStep();
+    }
+
+    /**
+     * Records that a streamed placement was used up.
+     * @param id the placement's id in the level streamer
+     */
+    public void used(int id) {
+        if (!started || closed) return;
+        WRITER.offer(ByteBuffer.allocate(5).put(USED).putInt(id).array());
+    }
+
+    /**
+     * Records a pickup dropped during play.
+     */
+    public void dropped(Placement.Kind kind, Vec2 position) {
+        if (!started || closed) return;
+        WRITER.offer(ByteBuffer.allocate(10).put(DROP).put((byte) kind.ordinal())
+                .putFloat(position.x).putFloat(position.y).array());
+    }
+
+    /**
+     * Records that the level was completed.
+     */
+    public void levelCompleted() {
+        if (!started || closed) return;
+        WRITER.offer(new byte[] {LEVEL_COMPLETED, (byte) world.getLevelNumber()});
+    }
+
+    /**
+     * Marks the journal closed when the level is left normally, so there is nothing to recover.
+     * Nothing is recorded after this.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (started) WRITER.offer(new byte[] {CLOSED});
+    }
+
+    /**
+     * Summarises what the journal writer has done, for logging.
+     */
+    public static String report() {
+        return WRITER.report();
+    }
+
+    /**
+     * Reads the journal left by an earlier run of the game that didn't end normally.
+     * @return what to recover, or null if there is no journal, it was closed, it can't be read,
+     *         or this run has already journaled (the file is this run's own)
+     */
+    public static Recovery recover() {
+        if (WRITER.thread != null) return null;
+        return recover(JOURNAL_FILE);
+    }
+
+    /**
+     * Reads a journal file.
+     * @return what to recover, or null if there is nothing to recover
+     */
+    public static Recovery recover(Path path) {
+        if (!Files.exists(path)) return null;
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+                throw new IOException(path + ": not a save journal");
+            }
+            short version = in.getShort();
+            if (version != VERSION) throw new IOException(path + ": unsupported journal version " + version);
+
+            Recovery recovery = null;
+            while (in.remaining() >= 8) {
+                int length = in.getInt();
+                int crc = in.getInt();
+                if (length < 0 || length > in.remaining()) break; // Torn by a crash
+                CRC32 check = new CRC32();
+                check.update(in.array(), in.position(), length);
+                if ((int) check.getValue() != crc) break;
+
+                ByteBuffer batch = in.slice(in.position(), length);
+                in.position(in.position() + length);
+                while (batch.hasRemaining()) {
+                    byte type = batch.get();
+                    if (type == SNAPSHOT) {
+                        byte[] snapshot = new byte[batch.getInt()];
+                        batch.get(snapshot);
+                        recovery = new Recovery(WorldSnapshot.fromBytes(snapshot));
+                    } else if (recovery == null) {
+                        throw new IOException(path + ": journal doesn't start with a snapshot");
+                    } else {
+                        recovery.read(type, batch);
+                    }
+                }
+            }
+            return recovery == null || recovery.closed ? null : recovery;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.out.println("Could not read save journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the journal, e.g. when the player chooses not to recover it.
+     */
+    public static void discard() {
+        try {
+            Files.deleteIfExists(JOURNAL_FILE);
+        } catch (IOException e) {
+            System.out.println("Could not delete save journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Progress read back from a journal: its last snapshot and what happened after it.
+     */
+    public static class Recovery {
+        private final WorldSnapshot snapshot;
+        private final List<Event> events = new ArrayList<>();
+        private boolean hasPosition = false;
+        private float catX, catY;
+        private int health, food, nubellas, rugs;
+        private boolean levelCompleted = false;
+        private boolean closed = false;
+
+        private Recovery(WorldSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private void read(byte type, ByteBuffer in) throws IOException {
+            switch (type) {
+                case USED -> events.add(new Event(in.getInt(), null));
+                case DROP -> events.add(new Event(-1, Placement.at(Placement.Kind.values()[in.get() & 0xFF],
+                        in.getFloat(), in.getFloat())));
+                case POSITION -> {
+                    hasPosition = true;
+                    catX = in.getFloat();
+                    catY = in.getFloat();
+                    health = in.getShort();
+                    food = in.getShort();
+                    nubellas = in.getShort();
+                    rugs = in.getShort();
+                }
+                case LEVEL_COMPLETED -> {
+                    in.get();
+                    levelCompleted = true;
+                }
+                case CLOSED -> closed = true;
+                default -> throw new IOException("unknown journal record " + type);
+            }
+        }
+
+        /**
+         * Gets the level the journal was written for.
+         */
+        public int getLevelNumber() {
+            return snapshot.getLevelNumber();
+        }
+
+        /**
+         * Returns whether the level was completed, in which case the next level should be started instead.
+         */
+        public boolean isLevelCompleted() {
+            return levelCompleted;
+        }
+
+        /**
+         * Restores the snapshot onto a freshly built world of the level and replays the journal onto it.
+         * @throws IllegalArgumentException if the world is of a different level or the snapshot is corrupt
+         */
+        public void apply(GameWorld world) {
+            snapshot.restore(world);
+            LevelStreamer streamer = world.getStreamer();
+            for (Event event : events) {
+                if (event.drop() == null) {
+                    streamer.markUsed(event.used());
+                } else {
+                    streamer.drop(event.drop().kind(), new Vec2(event.drop().x(), event.drop().y()));
+                }
+            }
+            if (hasPosition) {
+                Cat cat = world.getCat();
+                cat.setPosition(new Vec2(catX, catY));
+                cat.setLinearVelocity(new Vec2(0, 0));
+                cat.setHealth(health);
+                cat.setFoodCount(food);
+                cat.setNubellaCount(nubellas);
+                cat.setRugCounter(rugs);
+            }
+        }
+    }
+
+    /**
+     * A change to the level's placements after the snapshot: a used-up placement id, or a dropped pickup.
+     */
+    private record Event(int used, Placement drop) {
+    }
+
+    /**
+     * The background thread that writes queued records to the journal file.
+     */
+    private static class Writer {
+        /** Unwritten records kept for retrying before they are given up on. */
+        private static final int MAX_RETAINED = 4096;
+
+        private final Path path;
+        private final ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong droppedSamples = new AtomicLong();
+        private volatile Thread thread;
+        private FileChannel channel;
+        private byte[] snapshot;
+        private long goodSize = 0;
+        private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        private int batchRecords = 0;
+        private volatile long records = 0;
+        private volatile long batches = 0;
+        private volatile long files = 0;
+        private volatile long failures = 0;
+        private volatile long lostRecords = 0;
+
+        Writer(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Queues a record without waiting. Position samples are dropped while too many records are waiting.
+         */
+        void offer(byte[] record) {
+            if (record[0] == POSITION && pending.get() >= SAMPLE_LIMIT) {
+                droppedSamples.incrementAndGet();
+                return;
+            }
+            queue.add(record);
+            Thread writer = thread != null ? thread : start();
+            if (pending.incrementAndGet() >= BATCH_SIZE) LockSupport.unpark(writer);
+        }
+
+        private synchronized Thread start() {
+            if (thread == null) {
+                Thread writer = new Thread(this::run, "journal-writer");
+                writer.setDaemon(true);
+                writer.start();
+                thread = writer;
+            }
+            return thread;
+        }
+
+        private void run() {
+            while (true) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS));
+                try {
+                    flush();
+                } catch (IOException e) {
+                    failures++;
+                    closeChannel();
+                    if (batchRecords > MAX_RETAINED) {
+                        lose();
+                    }
+                    System.out.println("Could not write save journal, retrying with the next batch ("
+                            + batchRecords + " records waiting): " + e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Writes everything queued. Records up to a snapshot are superseded by it, and a snapshot starts
+         * a new file. If the last write failed, the file is opened again first and what wasn't written is retried.
+         */
+        private void flush() throws IOException {
+            byte[] record;
+            while ((record = queue.poll()) != null) {
+                pending.decrementAndGet();
+                records++;
+                if (record[0] == SNAPSHOT) {
+                    batch.reset();
+                    batchRecords = 0;
+                    snapshot = record;
+                    closeChannel();
+                    goodSize = 0;
+                } else {
+                    batch.write(record);
+                    batchRecords++;
+                }
+            }
+            if (snapshot == null) {
+                lose(); // Nothing to replay them onto
+                return;
+            }
+            if (channel == null) open();
+            if (batchRecords > 0) {
+                write(channel, batch.toByteArray());
+                channel.force(false);
+                goodSize = channel.position();
+                batch.reset();
+                batchRecords = 0;
+            }
+        }
+
+        /**
+         * Opens the journal file to append to. After a failed write, the file is cut back to its last
+         * complete batch; for a new snapshot, or if the file is gone, a new file is started.
+         */
+        private void open() throws IOException {
+            if (goodSize > 0 && Files.exists(path)) {
+                channel = FileChannel.open(path, StandardOpenOption.WRITE);
+                channel.truncate(goodSize);
+                channel.position(goodSize);
+            } else {
+                startFile();
+            }
+        }
+
+        /**
+         * Writes a new journal file that starts with the snapshot aside, then moves it over the old one.
+         */
+        private void startFile() throws IOException {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(path.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION);
+                out.write(header.flip());
+                write(out, snapshot);
+                out.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            goodSize = channel.size();
+            channel.position(goodSize);
+            files++;
+        }
+
+        private void write(FileChannel out, byte[] records) throws IOException {
+            CRC32 crc = new CRC32();
+            crc.update(records);
+            ByteBuffer buffer = ByteBuffer.allocate(8 + records.length);
+            buffer.putInt(records.length).putInt((int) crc.getValue()).put(records).flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            batches++;
+        }
+
+        /**
+         * Gives up on the records waiting to be written, counting them.
+         */
+        private void lose() {
+            lostRecords += batchRecords;
+            batch.reset();
+            batchRecords = 0;
+        }
+
+        private void closeChannel() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already failed; the file is opened again on the next flush
+            }
+            channel = null;
+        }
+
+        String report() {
+            return String.format("Save journal: %d records in %d batches over %d files, %d waiting, "
+                            + "%d failed writes, %d records lost, %d position samples dropped",
+                    records, batches, files, pending.get(), failures, lostRecords, droppedSamples.get());
+        }
+    }
+}
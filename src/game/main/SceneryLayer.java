@@ -0,0 +1,99 @@
+package game.main;
+
+import city.cs.engine.World;
+import game.assets.AssetRegistry;
+import org.jbox2d.common.Vec2;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decorative images (background props, ladder sections) drawn by the game view instead of by bodies.
+ * Each frame the camera rectangle is tested against every sprite's image bounds and
+ * off-screen sprites are skipped, with counters of how many were drawn and culled.
+ */
+public class SceneryLayer {
+    private final World world;
+    private final List<Sprite> sprites = new ArrayList<>();
+
+    private int drawn = 0;
+    private int culled = 0;
+
+    /**
+     * Creates an empty layer for a level.
+     * @param world the world whose images the layer draws
+     */
+    public SceneryLayer(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Adds a decorative image to the level.
+     * @param owner object the image belongs to, used to remove it later
+     * @param imagePath path to the image
+     * @param position centre of the image in world coordinates
+     * @param height height of the image in world units (width follows the image's aspect ratio)
+     */
+    public synchronized void add(Object owner, String imagePath, Vec2 position, float height) {
+        Image image = AssetRegistry.image(world, imagePath);
+        float width = image.getHeight(null) > 0
+                ? height * image.getWidth(null) / image.getHeight(null) : height;
+        sprites.add(new Sprite(owner, image, position.x, position.y, width / 2f, height / 2f));
+    }
+
+    /**
+     * Removes every image an owner added.
+     */
+    public synchronized void removeOwner(Object owner) {
+        sprites.removeIf(sprite -> sprite.owner == owner);
+    }
+
+    /**
+     * Draws the sprites that overlap the camera rectangle.
+     * @param g graphics in screen coordinates
+     * @param centre world point at the centre of the view
+     * @param zoom pixels per world unit of the view
+     * @param width view width in pixels
+     * @param height view height in pixels
+     */
+    public synchronized void paint(Graphics2D g, Vec2 centre, float zoom, int width, int height) {
+        drawn = 0;
+        culled = 0;
+        float minX = centre.x - width / 2f / zoom, maxX = centre.x + width / 2f / zoom;
+        float minY = centre.y - height / 2f / zoom, maxY = centre.y + height / 2f / zoom;
+
+        for (Sprite sprite : sprites) {
+            if (sprite.x + sprite.halfWidth < minX || sprite.x - sprite.halfWidth > maxX
+                    || sprite.y + sprite.halfHeight < minY || sprite.y - sprite.halfHeight > maxY) {
+                culled++;
+                continue;
+            }
+            int sx = Math.round(width / 2f + (sprite.x - sprite.halfWidth - centre.x) * zoom);
+            int sy = Math.round(height / 2f - (sprite.y + sprite.halfHeight - centre.y) * zoom);
+            g.drawImage(sprite.image, sx, sy,
+                    Math.round(sprite.halfWidth * 2f * zoom), Math.round(sprite.halfHeight * 2f * zoom), null);
+            drawn++;
+        }
+    }
+
+    /** Returns how many sprites were drawn in the last frame. */
+    public int getDrawn() {
+        return drawn;
+    }
+
+    /** Returns how many sprites were skipped as off-screen in the last frame. */
+    public int getCulled() {
+        return culled;
+    }
+
+    /** Returns how many sprites the layer holds. */
+    public synchronized int size() {
+        return sprites.size();
+    }
+
+    /**
+     * One decorative image with its world bounds.
+     */
+    private record Sprite(Object owner, Image image, float x, float y, float halfWidth, float halfHeight) {}
+}
@@ -0,0 +1,209 @@
+package game.main;
+
+import city.cs.engine.Body;
+import org.jbox2d.common.Vec2;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid of bodies used for proximity queries (range, nearest neighbour, "is the cat close").
+ * Static bodies are binned once; moving bodies are re-binned by {@link #update()} only when they
+ * cross into another cell, so queries only look at the few cells around the query point.
+ */
+public class SpatialIndex {
+    private final float cellSize;
+    private final Map<Long, List<Body>> cells = new HashMap<>();
+    private final Map<Body, Long> cellOf = new IdentityHashMap<>();
+    private final List<Body> movingBodies = new ArrayList<>();
+
+    /**
+     * Creates an empty index.
+     * @param cellSize width and height of a grid cell in world units
+     */
+    public SpatialIndex(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a body to the index.
+     * @param body the body to track
+     * @param moving true if the body moves and must be re-binned every update
+     */
+    public synchronized void add(Body body, boolean moving) {
+        if (cellOf.containsKey(body)) return;
+
+        Vec2 position = body.getPosition();
+        long key = key(cellX(position.x), cellY(position.y));
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(body);
+        cellOf.put(body, key);
+        if (moving) movingBodies.add(body);
+    }
+
+    /**
+     * Removes a body from the index.
+     */
+    public synchronized void remove(Body body) {
+        Long key = cellOf.remove(body);
+        if (key == null) return;
+
+        removeFromCell(body, key);
+        movingBodies.remove(body);
+    }
+
+    /**
+     * Re-bins moving bodies that changed cell and drops bodies that left the world.
+     * Called once per step.
+     */
+    public synchronized void update() {
+        for (int i = movingBodies.size() - 1; i >= 0; i--) {
+            Body body = movingBodies.get(i);
+            Long oldKey = cellOf.get(body);
+
+            if (body.getWorld() == null) {
+                movingBodies.remove(i);
+                cellOf.remove(body);
+                removeFromCell(body, oldKey);
+                continue;
+            }
+
+            Vec2 position = body.getPosition();
+            long newKey = key(cellX(position.x), cellY(position.y));
+            if (newKey != oldKey) {
+                removeFromCell(body, oldKey);
+                cells.computeIfAbsent(newKey, k -> new ArrayList<>()).add(body);
+                cellOf.put(body, newKey);
+            }
+        }
+    }
+
+    /**
+     * Collects every body of a type within a radius of a point.
+     * @param centre query point
+     * @param radius search radius
+     * @param type class of bodies to return
+     * @param out list the results are added to
+     * @return the same list, for convenience
+     */
+    public synchronized <T> List<T> queryRange(Vec2 centre, float radius, Class<T> type, List<T> out) {
+        int minX = cellX(centre.x - radius), maxX = cellX(centre.x + radius);
+        int minY = cellY(centre.y - radius), maxY = cellY(centre.y + radius);
+        float radiusSq = radius * radius;
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                List<Body> cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (Body body : cell) {
+                    if (type.isInstance(body) && body.getWorld() != null
+                            && distanceSq(body.getPosition(), centre) <= radiusSq) {
+                        out.add(type.cast(body));
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Finds the closest body of a type within a radius that passes a filter.
+     * @param centre query point
+     * @param maxRadius search radius
+     * @param type class of bodies to consider
+     * @param filter extra condition, e.g. "not destroyed"
+     * @return the nearest match, or null if none
+     */
+    public synchronized <T> T nearest(Vec2 centre, float maxRadius, Class<T> type, Predicate<T> filter) {
+        int minX = cellX(centre.x - maxRadius), maxX = cellX(centre.x + maxRadius);
+        int minY = cellY(centre.y - maxRadius), maxY = cellY(centre.y + maxRadius);
+        float bestSq = maxRadius * maxRadius;
+        T best = null;
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                List<Body> cell = cells.get(key(cx, cy));
+                if (cell == null) continue;
+                for (Body body : cell) {
+                    if (!type.isInstance(body) || body.getWorld() == null) continue;
+                    float distSq = distanceSq(body.getPosition(), centre);
+                    T candidate = type.cast(body);
+                    if (distSq <= bestSq && filter.test(candidate)) {
+                        bestSq = distSq;
+                        best = candidate;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns true if a tracked body is within a radius of a point.
+     * Bodies whose cell is too far away are rejected without a distance calculation.
+     */
+    public boolean isWithin(Body target, Vec2 centre, float radius) {
+        if (!isCellNear(target, centre, radius, radius)) return false;
+        return distanceSq(target.getPosition(), centre) <= radius * radius;
+    }
+
+    /**
+     * Returns true if a tracked body lies inside an axis-aligned box around a point.
+     * @param halfWidth half the box width (use {@link Float#POSITIVE_INFINITY} to ignore x)
+     * @param halfHeight half the box height (use {@link Float#POSITIVE_INFINITY} to ignore y)
+     */
+    public boolean isWithinBox(Body target, Vec2 centre, float halfWidth, float halfHeight) {
+        if (!isCellNear(target, centre, halfWidth, halfHeight)) return false;
+        Vec2 position = target.getPosition();
+        return Math.abs(position.x - centre.x) <= halfWidth && Math.abs(position.y - centre.y) <= halfHeight;
+    }
+
+    private synchronized boolean isCellNear(Body target, Vec2 centre, float rangeX, float rangeY) {
+        Long key = cellOf.get(target);
+        if (key == null) return target.getWorld() != null; // Untracked: fall back to the exact test
+
+        double cellRangeX = Math.ceil(rangeX / cellSize) + 1;
+        double cellRangeY = Math.ceil(rangeY / cellSize) + 1;
+        return Math.abs((double) keyX(key) - cellX(centre.x)) <= cellRangeX
+                && Math.abs((double) keyY(key) - cellY(centre.y)) <= cellRangeY;
+    }
+
+    /**
+     * Returns how many bodies are tracked.
+     */
+    public synchronized int size() {
+        return cellOf.size();
+    }
+
+    private void removeFromCell(Body body, long key) {
+        List<Body> cell = cells.get(key);
+        if (cell == null) return;
+        cell.remove(body);
+        if (cell.isEmpty()) cells.remove(key);
+    }
+
+    private int cellX(float x) {
+        return (int) Math.floor(x / cellSize);
+    }
+
+    private int cellY(float y) {
+        return (int) Math.floor(y / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int keyY(long key) {
+        return (int) key;
+    }
+
+    private static float distanceSq(Vec2 a, Vec2 b) {
+        float dx = a.x - b.x;
+        float dy = a.y - b.y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,251 @@
+package game.main;
+
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs a world's per-step work as systems in fixed phases, so the world has one step listener instead of one
+ * per entity. A system either does world-wide work (applying input, ticking timers, streaming) or updates every
+ * entity of one type in a single loop. Entities join their type's system when created and leave it when
+ * destroyed or put to sleep. Every system's time is measured for {@link #report()}.
+ * <p>
+ * All phases but {@link Phase#CLEANUP} run before the physics step, in order. Cleanup runs after it, when
+ * bodies and fixtures can be changed safely.
+ */
+public class SystemScheduler implements StepListener {
+
+    /**
+     * The phases of a step, in the order they run.
+     */
+    public enum Phase {
+        INPUT, AI, MOVEMENT, ANIMATION, SPAWNING, CLEANUP
+    }
+
+    private final Map<Phase, List<GameSystem>> phases = new EnumMap<>(Phase.class);
+    private final Map<Class<?>, EntitySystem<?>> systemsByType = new HashMap<>();
+    private long steps = 0;
+    private volatile boolean closed = false;
+    private volatile int stepsAfterClose = 0;
+
+    /**
+     * Creates a scheduler with no systems.
+     */
+    public SystemScheduler() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a system that does world-wide work once per step. Systems in a phase run in the order they were added.
+     * @param phase when it runs
+     * @param name name used in the report
+     * @param update the work
+     */
+    public void add(Phase phase, String name, Runnable update) {
+        phases.get(phase).add(new GameSystem(name, update));
+    }
+
+    /**
+     * Adds a system that updates every registered entity of a type once per step.
+     * Entities are updated in the order they were registered.
+     * @param phase when it runs
+     * @param name name used in the report
+     * @param type the exact class of the entities
+     * @param update updates one entity
+     */
+    public <T> void add(Phase phase, String name, Class<T> type, Consumer<T> update) {
+        EntitySystem<T> system = new EntitySystem<>(name, update);
+        systemsByType.put(type, system);
+        phases.get(phase).add(system);
+    }
+
+    /**
+     * Starts updating an entity in the system for its class. Safe to call while the systems run:
+     * an entity added during its own system's loop is first updated on the next step.
+     */
+    public void register(Object entity) {
+        if (closed) return;
+        systemFor(entity).add(entity);
+    }
+
+    /**
+     * Stops updating an entity, e.g. when it is destroyed or goes to sleep. Safe to call while the systems run.
+     */
+    public void unregister(Object entity) {
+        if (closed) return;
+        systemFor(entity).remove(entity);
+    }
+
+    /**
+     * Gets the number of entities registered in all entity systems.
+     */
+    public int getEntityCount() {
+        int count = 0;
+        for (EntitySystem<?> system : systemsByType.values()) {
+            count += system.size();
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private EntitySystem<Object> systemFor(Object entity) {
+        EntitySystem<?> system = systemsByType.get(entity.getClass());
+        if (system == null) {
+            throw new IllegalArgumentException("No system updates " + entity.getClass().getSimpleName());
+        }
+        return (EntitySystem<Object>) system;
+    }
+
+    /**
+     * Stops running systems when the world is left. Any step after this only gets counted.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Gets how many times the world tried to step the scheduler after it was closed.
+     */
+    public int getStepsAfterClose() {
+        return stepsAfterClose;
+    }
+
+    /**
+     * Runs every phase but cleanup.
+     */
+    @Override
+    public void preStep(StepEvent e) {
+        if (closed) {
+            stepsAfterClose++;
+            return;
+        }
+        steps++;
+        for (Phase phase : Phase.values()) {
+            if (phase != Phase.CLEANUP) {
+                run(phase);
+            }
+        }
+    }
+
+    /**
+     * Runs the cleanup phase.
+     */
+    @Override
+    public void postStep(StepEvent e) {
+        if (closed) return;
+        run(Phase.CLEANUP);
+    }
+
+    private void run(Phase phase) {
+        for (GameSystem system : phases.get(phase)) {
+            long start = System.nanoTime();
+            system.run();
+            system.nanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Summarises the average time per step of every system, by phase, for logging.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Systems (ms/step):");
+        long perStep = Math.max(1, steps);
+        for (Phase phase : Phase.values()) {
+            List<GameSystem> systems = phases.get(phase);
+            if (systems.isEmpty()) continue;
+            report.append(String.format("%n  %-9s", phase.name().toLowerCase()));
+            for (GameSystem system : systems) {
+                report.append(String.format(" %s %.4f", system.name, system.nanos / 1e6 / perStep));
+                if (system instanceof EntitySystem<?> entities) {
+                    report.append(String.format(" (%d)", entities.size()));
+                }
+                report.append(',');
+            }
+            report.setLength(report.length() - 1);
+        }
+        return report.toString();
+    }
+
+    /**
+     * A unit of per-step work and the time it has taken.
+     */
+    private static class GameSystem {
+        final String name;
+        private final Runnable update;
+        long nanos = 0;
+
+        GameSystem(String name, Runnable update) {
+            this.name = name;
+            this.update = update;
+        }
+
+        void run() {
+            update.run();
+        }
+    }
+
+    /**
+     * Updates a set of entities in one loop, in the order they were added. Changes made while the loop runs
+     * are applied after it. Entities don't override equals, so the sets compare them by identity and
+     * registering or unregistering one doesn't scan the others.
+     */
+    private static class EntitySystem<T> extends GameSystem {
+        private final Consumer<T> update;
+        private final Set<T> entities = new LinkedHashSet<>();
+        private final Set<T> added = new LinkedHashSet<>();
+        private final Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean running = false;
+
+        EntitySystem(String name, Consumer<T> update) {
+            super(name, null);
+            this.update = update;
+        }
+
+        void add(T entity) {
+            if (running) {
+                removed.remove(entity);
+                added.add(entity);
+            } else {
+                entities.add(entity);
+            }
+        }
+
+        void remove(T entity) {
+            if (running) {
+                added.remove(entity);
+                removed.add(entity);
+            } else {
+                entities.remove(entity);
+            }
+        }
+
+        int size() {
+            return entities.size() + added.size() - removed.size();
+        }
+
+        @Override
+        void run() {
+            running = true;
+            try {
+                for (T entity : entities) {
+                    // Skips entities destroyed earlier in this loop
+                    if (removed.isEmpty() || !removed.contains(entity)) {
+                        update.accept(entity);
+                    }
+                }
+            } finally {
+                running = false;
+            }
+            if (!removed.isEmpty()) {
+                entities.removeAll(removed);
+                removed.clear();
+            }
+            entities.addAll(added);
+            added.clear();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package game.main;
+
+import city.cs.engine.World;
+import game.assets.AssetRegistry;
+import org.jbox2d.common.Vec2;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Draws static tiles (platform bases and tops, roofs) from pre-baked chunk images.
+ * Tiles are registered while a level is built, baked into fixed-size images keyed by chunk coordinate,
+ * and each frame only the chunks inside the camera are drawn, so the cost depends on the screen size
+ * rather than on how many tiles the level has.
+ */
+public class TileChunkRenderer {
+
+    /** Width and height of a chunk in world units. */
+    public static final float CHUNK_SIZE = 16f;
+
+    /** Pixels per world unit the chunks are baked at (the game view zoom). */
+    public static final float PIXELS_PER_UNIT = 20f;
+
+    private static final int CHUNK_PIXELS = Math.round(CHUNK_SIZE * PIXELS_PER_UNIT);
+
+    private final World world;
+    private final Map<Long, List<Tile>> tilesByChunk = new HashMap<>();
+    private final Map<Long, BufferedImage> baked = new HashMap<>();
+    private final Map<Object, List<Tile>> tilesByOwner = new IdentityHashMap<>();
+
+    private int chunksDrawn = 0;
+    private long chunksBaked = 0;
+
+    /**
+     * Creates an empty renderer for a level.
+     * @param world the world whose tile images the renderer draws
+     */
+    public TileChunkRenderer(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Registers a square tile to be drawn as part of the static scenery.
+     * @param owner the body the tile belongs to, used to remove its tiles later
+     * @param imagePath path to the tile image
+     * @param centre centre of the tile in world coordinates
+     * @param size height of the tile in world units
+     * @param angle rotation in radians (counter-clockwise, like body angles)
+     */
+    public synchronized void addTile(Object owner, String imagePath, Vec2 centre, float size, float angle) {
+        Tile tile = new Tile(AssetRegistry.image(world, imagePath), centre.x, centre.y, size, angle);
+        tilesByOwner.computeIfAbsent(owner, k -> new ArrayList<>()).add(tile);
+
+        // A rotated tile may reach up to half its diagonal from its centre
+        float reach = angle == 0f ? size / 2f : size * 0.71f;
+        forEachChunk(tile.x - reach, tile.y - reach, tile.x + reach, tile.y + reach, key -> {
+            tilesByChunk.computeIfAbsent(key, k -> new ArrayList<>()).add(tile);
+            baked.remove(key);
+        });
+    }
+
+    /**
+     * Removes every tile an owner registered and drops the chunks they were baked into.
+     * Used when a part of the level is unloaded.
+     */
+    public synchronized void removeOwner(Object owner) {
+        List<Tile> tiles = tilesByOwner.remove(owner);
+        if (tiles == null) return;
+
+        Set<Tile> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(tiles);
+        for (Iterator<Map.Entry<Long, List<Tile>>> it = tilesByChunk.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, List<Tile>> entry = it.next();
+            if (entry.getValue().removeIf(removed::contains)) {
+                baked.remove(entry.getKey());
+                if (entry.getValue().isEmpty()) it.remove();
+            }
+        }
+    }
+
+    /**
+     * Throws away the baked images of every chunk overlapping an area so they are rebaked on next use.
+     */
+    public synchronized void invalidate(float minX, float minY, float maxX, float maxY) {
+        forEachChunk(minX, minY, maxX, maxY, baked::remove);
+    }
+
+    /**
+     * Bakes every chunk that has tiles. Called once the level has been built so the
+     * first frames don't have to bake anything.
+     */
+    public synchronized void bakeAll() {
+        for (Map.Entry<Long, List<Tile>> entry : tilesByChunk.entrySet()) {
+            baked.computeIfAbsent(entry.getKey(), key -> bake(key, entry.getValue()));
+        }
+    }
+
+    /**
+     * Draws the chunks visible through a view.
+     * @param g graphics in screen coordinates
+     * @param centre world point at the centre of the view
+     * @param zoom pixels per world unit of the view
+     * @param width view width in pixels
+     * @param height view height in pixels
+     */
+    public synchronized void paint(Graphics2D g, Vec2 centre, float zoom, int width, int height) {
+        chunksDrawn = 0;
+        float halfW = width / 2f / zoom;
+        float halfH = height / 2f / zoom;
+        int size = Math.round(CHUNK_SIZE * zoom);
+
+        int minX = chunkCoord(centre.x - halfW), maxX = chunkCoord(centre.x + halfW);
+        int minY = chunkCoord(centre.y - halfH), maxY = chunkCoord(centre.y + halfH);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                long key = key(cx, cy);
+                List<Tile> tiles = tilesByChunk.get(key);
+                if (tiles == null) continue;
+
+                BufferedImage image = baked.computeIfAbsent(key, k -> bake(k, tiles));
+                // Top-left corner of the chunk is (cx, cy + 1) in chunk units
+                int sx = Math.round(width / 2f + (cx * CHUNK_SIZE - centre.x) * zoom);
+                int sy = Math.round(height / 2f - ((cy + 1) * CHUNK_SIZE - centre.y) * zoom);
+                g.drawImage(image, sx, sy, size, size, null);
+                chunksDrawn++;
+            }
+        }
+    }
+
+    /**
+     * Renders all tiles touching a chunk into a new chunk image.
+     */
+    private BufferedImage bake(long key, List<Tile> tiles) {
+        BufferedImage image = new BufferedImage(CHUNK_PIXELS, CHUNK_PIXELS, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        float originX = keyX(key) * CHUNK_SIZE;
+        float originY = (keyY(key) + 1) * CHUNK_SIZE;
+        AffineTransform base = g.getTransform();
+        for (Tile tile : tiles) {
+            Image tileImage = tile.image;
+            float h = tile.size * PIXELS_PER_UNIT;
+            float w = tileImage.getHeight(null) > 0
+                    ? h * tileImage.getWidth(null) / tileImage.getHeight(null) : h;
+
+            g.setTransform(base);
+            g.translate((tile.x - originX) * PIXELS_PER_UNIT, (originY - tile.y) * PIXELS_PER_UNIT);
+            if (tile.angle != 0f) g.rotate(-tile.angle); // Screen y points down
+            g.drawImage(tileImage, Math.round(-w / 2f), Math.round(-h / 2f), Math.round(w), Math.round(h), null);
+        }
+        g.dispose();
+        chunksBaked++;
+        return image;
+    }
+
+    private void forEachChunk(float minX, float minY, float maxX, float maxY, LongConsumer action) {
+        for (int cx = chunkCoord(minX); cx <= chunkCoord(maxX); cx++) {
+            for (int cy = chunkCoord(minY); cy <= chunkCoord(maxY); cy++) {
+                action.accept(key(cx, cy));
+            }
+        }
+    }
+
+    /** Returns how many chunks were drawn in the last frame. */
+    public int getChunksDrawn() {
+        return chunksDrawn;
+    }
+
+    /** Returns how many chunks contain at least one tile. */
+    public synchronized int getChunkCount() {
+        return tilesByChunk.size();
+    }
+
+    /** Returns how many chunk images have been baked since the renderer was created. */
+    public long getChunksBaked() {
+        return chunksBaked;
+    }
+
+    /** Returns how many tiles are registered. */
+    public synchronized int getTileCount() {
+        int count = 0;
+        for (List<Tile> tiles : tilesByOwner.values()) {
+            count += tiles.size();
+        }
+        return count;
+    }
+
+    private static int chunkCoord(float value) {
+        return (int) Math.floor(value / CHUNK_SIZE);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int keyY(long key) {
+        return (int) key;
+    }
+
+    /**
+     * One registered tile, in world coordinates.
+     */
+    private record Tile(Image image, float x, float y, float size, float angle) {}
+}
@@ -0,0 +1,237 @@
+package game.main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel that runs game timers on world step ticks.
+ * Timers are measured in steps, so they pause whenever the world is stopped,
+ * and each tick only touches the timers that are due (plus an occasional cascade),
+ * no matter how many timers are pending.
+ */
+public class TimerWheel {
+
+    /** Number of world steps per second of game time. */
+    public static final int STEPS_PER_SECOND = 60;
+
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVEL0_SIZE = 1 << LEVEL0_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final long LEVEL1_SPAN = (long) LEVEL0_SIZE * LEVEL_SIZE;
+    private static final long LEVEL2_SPAN = LEVEL1_SPAN * LEVEL_SIZE;
+
+    private final GameTimer[] level0 = createSlots(LEVEL0_SIZE);
+    private final GameTimer[] level1 = createSlots(LEVEL_SIZE);
+    private final GameTimer[] level2 = createSlots(LEVEL_SIZE);
+    private final List<GameTimer> due = new ArrayList<>();
+    private final Set<GameTimer> suspendedTimers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long currentTick = 0;
+    private int pending = 0;
+
+    private static GameTimer[] createSlots(int count) {
+        GameTimer[] slots = new GameTimer[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = GameTimer.sentinel();
+        }
+        return slots;
+    }
+
+    /**
+     * Converts milliseconds of game time to steps (at least one step).
+     */
+    public static int millisToSteps(int millis) {
+        return Math.max(1, Math.round(millis * STEPS_PER_SECOND / 1000f));
+    }
+
+    /**
+     * Runs an action once after a number of steps.
+     * @param delaySteps steps to wait (at least 1)
+     * @param action code to run on the step thread
+     * @return handle that can cancel the timer
+     */
+    public GameTimer schedule(int delaySteps, Runnable action) {
+        return scheduleRepeating(delaySteps, 0, action);
+    }
+
+    /**
+     * Runs an action after a delay and then repeatedly every period steps.
+     * @param delaySteps steps before the first run (at least 1)
+     * @param periodSteps steps between runs, or 0 to run only once
+     * @param action code to run on the step thread
+     * @return handle that can cancel the timer
+     */
+    public synchronized GameTimer scheduleRepeating(int delaySteps, int periodSteps, Runnable action) {
+        GameTimer timer = new GameTimer(this, action, periodSteps);
+        timer.deadline = currentTick + Math.max(1, delaySteps);
+        insert(timer);
+        pending++;
+        return timer;
+    }
+
+    /**
+     * Removes a timer from the wheel. Called through {@link GameTimer#cancel()}.
+     */
+    synchronized void cancel(GameTimer timer) {
+        if (timer.cancelled) return;
+        timer.cancelled = true;
+        if (timer.isLinked()) {
+            timer.unlink();
+        }
+        suspendedTimers.remove(timer);
+        pending--;
+    }
+
+    /**
+     * Takes a timer out of the wheel without cancelling it. Called through {@link GameTimer#suspend()}.
+     */
+    synchronized void suspend(GameTimer timer) {
+        if (timer.cancelled || timer.suspended) return;
+        timer.suspended = true;
+        suspendedTimers.add(timer);
+        if (timer.isLinked()) {
+            timer.remaining = Math.max(1, timer.deadline - currentTick);
+            timer.unlink();
+        } else {
+            // Currently running: a repeating timer waits a full period once resumed
+            timer.remaining = Math.max(1, timer.period);
+        }
+    }
+
+    /**
+     * Puts a suspended timer back with the time it had left. Called through {@link GameTimer#resume()}.
+     */
+    synchronized void resume(GameTimer timer) {
+        if (timer.cancelled || !timer.suspended) return;
+        timer.suspended = false;
+        suspendedTimers.remove(timer);
+        if (!timer.isLinked() && !due.contains(timer)) {
+            timer.deadline = currentTick + timer.remaining;
+            insert(timer);
+        }
+    }
+
+    /**
+     * Advances game time by one step and runs every timer that is now due.
+     */
+    public void tick() {
+        synchronized (this) {
+            currentTick++;
+            if ((currentTick & (LEVEL0_SIZE - 1)) == 0) {
+                int index1 = (int) ((currentTick >> LEVEL0_BITS) & (LEVEL_SIZE - 1));
+                if (index1 == 0) {
+                    cascade(level2[(int) ((currentTick >> (LEVEL0_BITS + LEVEL_BITS)) & (LEVEL_SIZE - 1))]);
+                }
+                cascade(level1[index1]);
+            }
+
+            // Detach due timers so actions can schedule or cancel freely while they run
+            GameTimer slot = level0[(int) (currentTick & (LEVEL0_SIZE - 1))];
+            while (slot.next != slot) {
+                GameTimer timer = slot.next;
+                timer.unlink();
+                due.add(timer);
+            }
+        }
+
+        for (int i = 0; i < due.size(); i++) {
+            GameTimer timer = due.get(i);
+            if (!timer.cancelled && !timer.suspended) {
+                if (timer.period == 0) {
+                    // One-shot timers are finished as soon as they start running
+                    synchronized (this) {
+                        timer.cancelled = true;
+                        pending--;
+                    }
+                }
+                timer.action.run();
+            }
+        }
+
+        synchronized (this) {
+            for (GameTimer timer : due) {
+                if (timer.cancelled) continue;
+                if (timer.suspended) {
+                    if (timer.period == 0) timer.remaining = 1; // Paused before it could run: run right after resuming
+                    continue;
+                }
+                // Repeating timers, or a one-shot that was paused and resumed before its turn
+                timer.deadline = currentTick + Math.max(1, timer.period);
+                insert(timer);
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Cancels every pending timer.
+     */
+    public synchronized void cancelAll() {
+        for (GameTimer[] level : new GameTimer[][]{level0, level1, level2}) {
+            for (GameTimer slot : level) {
+                while (slot.next != slot) {
+                    GameTimer timer = slot.next;
+                    timer.unlink();
+                    timer.cancelled = true;
+                }
+            }
+        }
+        for (GameTimer timer : due) {
+            timer.cancelled = true;
+        }
+        for (GameTimer timer : suspendedTimers) {
+            timer.cancelled = true;
+        }
+        suspendedTimers.clear();
+        pending = 0;
+    }
+
+    /**
+     * Moves every timer of a higher-level slot down to the level matching its remaining time.
+     */
+    private void cascade(GameTimer slot) {
+        while (slot.next != slot) {
+            GameTimer timer = slot.next;
+            timer.unlink();
+            insert(timer);
+        }
+    }
+
+    /**
+     * Puts a timer into the slot for its deadline.
+     */
+    private void insert(GameTimer timer) {
+        long delta = timer.deadline - currentTick;
+        GameTimer slot;
+        if (delta < LEVEL0_SIZE) {
+            long tick = Math.max(timer.deadline, currentTick);
+            slot = level0[(int) (tick & (LEVEL0_SIZE - 1))];
+        } else if (delta < LEVEL1_SPAN) {
+            slot = level1[(int) ((timer.deadline >> LEVEL0_BITS) & (LEVEL_SIZE - 1))];
+        } else if (delta < LEVEL2_SPAN) {
+            slot = level2[(int) ((timer.deadline >> (LEVEL0_BITS + LEVEL_BITS)) & (LEVEL_SIZE - 1))];
+        } else {
+            // Further away than the wheel covers: park in the last level-2 slot and re-check on cascade
+            slot = level2[(int) (((currentTick >> (LEVEL0_BITS + LEVEL_BITS)) - 1) & (LEVEL_SIZE - 1))];
+        }
+        timer.linkBefore(slot);
+    }
+
+    /**
+     * Returns the number of steps this wheel has ticked.
+     */
+    public synchronized long getTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns how many timers are waiting to run.
+     */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+}
@@ -0,0 +1,142 @@
+package game.main;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Owns everything a world keeps running or registered outside itself (its step listener, timers, sound effects,
+ * level assets, the preloader of the next level, ...), so leaving a level can tear it all down in one call.
+ * Resources are released in the reverse order they were registered.
+ * <p>
+ * Closing also runs a leak check: every resource can come with a count of what it still holds once released
+ * (pending timers, steps taken, sounds played after the world was left), and anything above zero is reported.
+ * With -Dgame.leakCheck=true the check also waits for the closed world to be garbage collected and reports it if
+ * something still keeps it reachable.
+ */
+public class WorldScope {
+    public static final String LEAK_CHECK_PROPERTY = "game.leakCheck";
+    private static final long REACHABILITY_DELAY_MILLIS = 3000;
+
+    private final String name;
+    private final List<Resource> resources = new ArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * Creates an open scope.
+     * @param name name used in the leak check, usually the level's class name
+     */
+    public WorldScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Registers something to release when the world is left.
+     * @param kind what it is, for the leak report
+     * @param release releases it
+     */
+    public void register(String kind, Runnable release) {
+        register(kind, release, null);
+    }
+
+    /**
+     * Registers something to release when the world is left, and how to tell if it leaked.
+     * If the scope is already closed, it is released straight away.
+     * @param kind what it is, for the leak report
+     * @param release releases it
+     * @param leftover counts what it still holds or did after being released; null for no check
+     */
+    public synchronized void register(String kind, Runnable release, IntSupplier leftover) {
+        Resource resource = new Resource(kind, release, leftover);
+        if (closed) {
+            System.out.println(name + ": " + kind + " registered after the level was left, releasing it now");
+            release.run();
+            return;
+        }
+        resources.add(resource);
+    }
+
+    /**
+     * Returns whether the world has been left.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases every resource, newest first, then runs the leak check. Only the first call has an effect.
+     * @param world the world being left, watched for reachability if the leak check is enabled
+     */
+    public void close(Object world) {
+        List<Resource> toRelease;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            toRelease = new ArrayList<>(resources);
+        }
+        for (int i = toRelease.size() - 1; i >= 0; i--) {
+            Resource resource = toRelease.get(i);
+            try {
+                resource.release.run();
+            } catch (RuntimeException e) {
+                System.out.println(name + ": releasing " + resource.kind + " failed: " + e);
+            }
+        }
+
+        List<String> leaks = findLeaks();
+        if (!leaks.isEmpty()) {
+            System.out.println("Leak check: " + name + " left behind " + String.join(", ", leaks));
+        }
+        if (Boolean.getBoolean(LEAK_CHECK_PROPERTY)) {
+            System.out.println("Leak check: " + name + " released " + toRelease.size() + " resources");
+            checkReachability(name, world);
+        }
+    }
+
+    /**
+     * Gets what the scope's resources still hold, one entry per resource kind that leaked.
+     * Empty while the scope is open or once everything was released cleanly.
+     */
+    public List<String> findLeaks() {
+        List<String> leaks = new ArrayList<>();
+        synchronized (this) {
+            if (!closed) return leaks;
+        }
+        for (Resource resource : resources) {
+            int count = resource.leftover != null ? resource.leftover.getAsInt() : 0;
+            if (count > 0) {
+                leaks.add(count + " " + resource.kind);
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * Reports the world if it can still be reached a while after it was left.
+     */
+    private static void checkReachability(String name, Object world) {
+        WeakReference<Object> reference = new WeakReference<>(world);
+        Thread checker = new Thread(() -> {
+            try {
+                Thread.sleep(REACHABILITY_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            System.gc();
+            if (reference.get() != null) {
+                System.out.println("Leak check: " + name + " is still reachable "
+                        + REACHABILITY_DELAY_MILLIS / 1000 + " s after it was left");
+            } else {
+                System.out.println("Leak check: " + name + " was collected");
+            }
+        }, "leak-check");
+        checker.setDaemon(true);
+        checker.start();
+    }
+
+    /**
+     * Something the world registered, how to release it and how to count what it still holds.
+     */
+    private record Resource(String kind, Runnable release, IntSupplier leftover) {
+    }
+}
@@ -0,0 +1,206 @@
+package game.main;
+
+import game.characters.Cat;
+import game.levels.Placement;
+import game.utils.Snapshottable;
+import org.jbox2d.common.Vec2;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state of a level at one moment, compact enough to keep many of them: the Cat, which placements are used
+ * up, the pickups dropped so far and the state of every built entity that changes during play
+ * (see {@link Snapshottable}). Everything else is rebuilt from the level's layout, so a snapshot is restored
+ * onto a world of the same level, either the one it was taken from or a freshly built one.
+ * <p>
+ * Snapshots are binary, big-endian: magic "CATW", version (short), level (byte), step (long), then the Cat
+ * (x, y, velocity x and y as floats; health, food, Nubellas and rugs as ints), then the streamer (layout size,
+ * the used-up bits as longs, the drops as kind, x and y), then the entities (placement id, state size, state).
+ * <p>
+ * Projectiles in flight and thief cats are short-lived and not kept. Entities whose chunk isn't loaded after a
+ * restore are rebuilt fresh when it loads, as they would be after streaming out in normal play.
+ */
+public class WorldSnapshot {
+    public static final int MAGIC = 0x43415457; // "CATW"
+    public static final short VERSION = 1;
+    private static final int HEADER_SIZE = 15;
+    private static final int CAT_SIZE = 32;
+    private static final int DROP_SIZE = 9;
+
+    private final byte[] bytes;
+    private final int levelNumber;
+    private final long step;
+
+    private WorldSnapshot(byte[] bytes, int levelNumber, long step) {
+        this.bytes = bytes;
+        this.levelNumber = levelNumber;
+        this.step = step;
+    }
+
+    /**
+     * Takes a snapshot of a world. Call it between steps, or while the world is stopped.
+     */
+    public static WorldSnapshot capture(GameWorld world) {
+        LevelStreamer streamer = world.getStreamer();
+        long[] used = streamer.getUsed().toLongArray();
+        List<Placement> drops = streamer.getDrops();
+        Map<Integer, Object> live = streamer.getLiveEntities();
+
+        int entityCount = 0;
+        int size = HEADER_SIZE + CAT_SIZE + 12 + used.length * 8 + drops.size() * DROP_SIZE + 4;
+        for (Object entity : live.values()) {
+            if (entity instanceof Snapshottable s) {
+                size += 5 + s.getStateSize();
+                entityCount++;
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.put((byte) world.getLevelNumber());
+        out.putLong(world.getStep());
+
+        Cat cat = world.getCat();
+        Vec2 position = cat.getPosition();
+        Vec2 velocity = cat.getLinearVelocity();
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.putFloat(velocity.x);
+        out.putFloat(velocity.y);
+        out.putInt(cat.getHealth());
+        out.putInt(cat.getFoodCount());
+        out.putInt(cat.getNubellaCount());
+        out.putInt(cat.getRugCounter());
+
+        out.putInt(streamer.getLayoutSize());
+        out.putInt(used.length);
+        for (long word : used) {
+            out.putLong(word);
+        }
+        out.putInt(drops.size());
+        for (Placement drop : drops) {
+            out.put((byte) drop.kind().ordinal());
+            out.putFloat(drop.x());
+            out.putFloat(drop.y());
+        }
+
+        out.putInt(entityCount);
+        for (Map.Entry<Integer, Object> entry : live.entrySet()) {
+            if (entry.getValue() instanceof Snapshottable s) {
+                out.putInt(entry.getKey());
+                out.put((byte) s.getStateSize());
+                s.writeState(out);
+            }
+        }
+        return new WorldSnapshot(out.array(), world.getLevelNumber(), world.getStep());
+    }
+
+    /**
+     * Puts a world into the state of this snapshot. Only what differs from the world's current state is
+     * rebuilt, so restoring onto the world the snapshot came from is cheap.
+     * @throws IllegalArgumentException if the world is of a different level, or the snapshot is corrupt
+     */
+    public void restore(GameWorld world) {
+        if (world.getLevelNumber() != levelNumber) {
+            throw new IllegalArgumentException("Snapshot of level " + levelNumber
+                    + " can't be restored onto level " + world.getLevelNumber());
+        }
+        LevelStreamer streamer = world.getStreamer();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            in.position(HEADER_SIZE);
+            float catX = in.getFloat();
+            float catY = in.getFloat();
+            float catVx = in.getFloat();
+            float catVy = in.getFloat();
+            int health = in.getInt();
+            int food = in.getInt();
+            int nubellas = in.getInt();
+            int rugs = in.getInt();
+
+            if (in.getInt() != streamer.getLayoutSize()) {
+                throw new IllegalArgumentException("Snapshot was taken of a different layout of level " + levelNumber);
+            }
+            long[] words = new long[in.getInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.getLong();
+            }
+            Placement[] drops = new Placement[in.getInt()];
+            Placement.Kind[] kinds = Placement.Kind.values();
+            for (int i = 0; i < drops.length; i++) {
+                drops[i] = Placement.at(kinds[in.get() & 0xFF], in.getFloat(), in.getFloat());
+            }
+
+            world.getProjectiles().reset();
+            streamer.restore(BitSet.valueOf(words), List.of(drops), catX);
+
+            Map<Integer, Object> live = streamer.getLiveEntities();
+            int entityCount = in.getInt();
+            for (int i = 0; i < entityCount; i++) {
+                int id = in.getInt();
+                int size = in.get() & 0xFF;
+                // Skips state of entities that aren't loaded now, or no longer match
+                if (live.get(id) instanceof Snapshottable s && s.getStateSize() == size) {
+                    s.readState(in.slice(in.position(), size));
+                }
+                in.position(in.position() + size);
+            }
+
+            Cat cat = world.getCat();
+            cat.setPosition(new Vec2(catX, catY));
+            cat.setLinearVelocity(new Vec2(catVx, catVy));
+            cat.setHealth(health);
+            cat.setFoodCount(food);
+            cat.setNubellaCount(nubellas);
+            cat.setRugCounter(rugs);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Snapshot is truncated or corrupt", e);
+        }
+    }
+
+    /**
+     * Gets the snapshot's encoded form, e.g. to put in a save.
+     */
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Reads a snapshot from its encoded form. The body is only checked when it is restored.
+     * @throws IllegalArgumentException if the bytes are not a snapshot this version of the game can read
+     */
+    public static WorldSnapshot fromBytes(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) throw new IllegalArgumentException("Too short to be a snapshot");
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a snapshot");
+        short version = in.getShort();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        return new WorldSnapshot(bytes.clone(), in.get() & 0xFF, in.getLong());
+    }
+
+    /**
+     * Gets the level the snapshot was taken of.
+     */
+    public int getLevelNumber() {
+        return levelNumber;
+    }
+
+    /**
+     * Gets the world step the snapshot was taken at. Only informative: the restored world keeps counting its own.
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the snapshot's size in bytes.
+     */
+    public int size() {
+        return bytes.length;
+    }
+}
@@ -1,17 +1,22 @@
 package game.obstacles;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
 import game.characters.Cat;
+import game.levels.Placement;
 import game.main.GameWorld;
 import game.pickups.NubellaPickup;
 import game.sounds.SoundEffectManager;
 import game.utils.Destructible;
+import game.utils.Snapshottable;
 import org.jbox2d.common.Vec2;
 
+import java.nio.ByteBuffer;
+
 /**
  * A destructible cardboard box that drops a Nubella when broken.
  */
-public class CardboardBox extends StaticBody implements Destructible {
+public class CardboardBox extends StaticBody implements Destructible, Snapshottable {
     private static final Shape boxShape = new BoxShape(1.5f, 1.0f);
     private int hitCount = 0;
     private static final int MAX_HITS = 8;
@@ -40,7 +45,7 @@ public class CardboardBox extends StaticBody implements Destructible {
             imagePath = "data/Obstacles/CardboardBoxOpenRight.png";
         }
 
-        addImage(new BodyImage(imagePath, 4f));
+        addImage(AssetRegistry.bodyImage(world, imagePath, 4f));
 
         if (world instanceof GameWorld gw) {
             gw.addDestructible(this);
@@ -54,9 +59,14 @@ public class CardboardBox extends StaticBody implements Destructible {
     public void takeDamage() {
         hitCount++;
         if (hitCount >= MAX_HITS) {
-            new NubellaPickup(getWorld(), getPosition());
+            if (getWorld() instanceof GameWorld gw) {
+                gw.getStreamer().markUsed(this);
+                gw.getStreamer().drop(Placement.Kind.NUBELLA_PICKUP, getPosition());
+            } else {
+                new NubellaPickup(getWorld(), getPosition());
+            }
+            SoundEffectManager.play(getWorld(), "data/Sounds/BoxBreak.wav");
             destroy();
-            SoundEffectManager.play("data/Sounds/BoxBreak.wav");
         }
     }
 
@@ -68,6 +78,22 @@ public class CardboardBox extends StaticBody implements Destructible {
         return MAX_HITS - hitCount;
     }
 
+    @Override
+    public int getStateSize() {
+        return 1;
+    }
+
+    /** Saves how many times the box has been scratched. */
+    @Override
+    public void writeState(ByteBuffer out) {
+        out.put((byte) hitCount);
+    }
+
+    @Override
+    public void readState(ByteBuffer in) {
+        hitCount = in.get();
+    }
+
     /**
      * Returns the body of this box.
      */
@@ -83,6 +109,7 @@ public class CardboardBox extends StaticBody implements Destructible {
     public void destroy() {
         if (getWorld() instanceof GameWorld gw) {
             gw.getDestructibles().remove(this);
+            gw.getSpatialIndex().remove(this);
             isDestroyed = true;
         }
         super.destroy();
@@ -1,15 +1,22 @@
 package game.obstacles;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
 import game.characters.Cat;
+import game.main.GameWorld;
 import org.jbox2d.common.Vec2;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A ladder made of stacked sections that teleports the cat up or down.
  */
 public class Ladder implements SensorListener {
     private final StaticBody topSensorBody;
     private final StaticBody bottomSensorBody;
+    private final List<StaticBody> sections = new ArrayList<>();
+    private final World world;
     private final Vec2 topTeleportPosition;
     private final Vec2 bottomTeleportPosition;
 
@@ -20,6 +27,7 @@ public class Ladder implements SensorListener {
      * @param totalHeight total height of the ladder
      */
     public Ladder(World world, Vec2 basePosition, float totalHeight) {
+        this.world = world;
         float sectionHeight = 4.0f;
         int numberOfSections = Math.round(totalHeight / sectionHeight);
         float actualHeight = numberOfSections * sectionHeight;
@@ -27,15 +35,25 @@ public class Ladder implements SensorListener {
         // Create stacked visual sections
         for (int i = 0; i < numberOfSections; i++) {
             float yOffset = i * sectionHeight;
-            StaticBody section = new StaticBody(world);
-            section.setPosition(new Vec2(basePosition.x, basePosition.y + yOffset));
+            Vec2 sectionPosition = new Vec2(basePosition.x, basePosition.y + yOffset);
 
+            String imagePath;
             if (i == 0) {
-                section.addImage(new BodyImage("data/Props/LadderBottom.png", sectionHeight));
+                imagePath = "data/Props/LadderBottom.png";
             } else if (i == numberOfSections - 1) {
-                section.addImage(new BodyImage("data/Props/LadderTop.png", sectionHeight));
+                imagePath = "data/Props/LadderTop.png";
             } else {
-                section.addImage(new BodyImage("data/Props/LadderMiddle.png", sectionHeight));
+                imagePath = "data/Props/LadderMiddle.png";
+            }
+
+            if (world instanceof GameWorld gw) {
+                // Drawn (and culled) by the scenery layer, no body needed
+                gw.getScenery().add(this, imagePath, sectionPosition, sectionHeight);
+            } else {
+                StaticBody section = new StaticBody(world);
+                section.setPosition(sectionPosition);
+                section.addImage(AssetRegistry.bodyImage(world, imagePath, sectionHeight));
+                sections.add(section);
             }
         }
 
@@ -54,6 +72,21 @@ public class Ladder implements SensorListener {
         bottomTeleportPosition = bottomSensorBody.getPosition().add(new Vec2(2, 2f));
     }
 
+    /**
+     * Removes the ladder's sensors and sections from the world.
+     */
+    public void destroy() {
+        if (world instanceof GameWorld gw) {
+            gw.getScenery().removeOwner(this);
+        }
+        for (StaticBody section : sections) {
+            section.destroy();
+        }
+        sections.clear();
+        topSensorBody.destroy();
+        bottomSensorBody.destroy();
+    }
+
     /**
      * Handles teleporting when the cat touches the sensors.
      */
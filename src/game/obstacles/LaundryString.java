@@ -1,28 +1,31 @@
 package game.obstacles;
 
 import city.cs.engine.*;
-import game.pickups.RugPickup;
+import game.assets.AssetRegistry;
+import game.main.GameTimer;
+import game.main.GameWorld;
+import game.main.TimerWheel;
+import game.levels.Placement;
 import game.characters.Cat;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
-
 /**
  * A laundry string that plays an animation and drops a rug when touched by the cat.
  */
 public class LaundryString extends StaticBody implements SensorListener {
-    private final BodyImage idleImage = new BodyImage("data/Props/ClothesIdle.png", 12f);
-    private final BodyImage windyImage1 = new BodyImage("data/Props/ClothesWindy.png", 12f);
-    private final BodyImage windyImage2 = new BodyImage("data/Props/ClothesIdle.png", 12f);
-    private final BodyImage noRugImage = new BodyImage("data/Props/ClothesNoRug.png", 12f);
+    private final BodyImage idleImage;
+    private final BodyImage windyImage1;
+    private final BodyImage windyImage2;
+    private final BodyImage noRugImage;
 
     private final Sensor sensor;
-    private final World world;
+    private final GameWorld world;
     private final Vec2 rugDropPosition;
     private boolean rugHasFallen = false;
 
     private AttachedImage currentImage;
-    private Timer animationTimer;
+    private GameTimer animationTimer;
+    private GameTimer rugDropTimer;
     private boolean toggleWindImage = false;
 
     /**
@@ -31,11 +34,17 @@ public class LaundryString extends StaticBody implements SensorListener {
      * @param position position of the string
      * @param rugDropPosition where the rug will fall
      */
-    public LaundryString(World world, Vec2 position, Vec2 rugDropPosition) {
+    public LaundryString(GameWorld world, Vec2 position, Vec2 rugDropPosition) {
         super(world);
         this.world = world;
         this.rugDropPosition = rugDropPosition;
 
+        // Shared images from the asset registry
+        idleImage = AssetRegistry.bodyImage(world, "data/Props/ClothesIdle.png", 12f);
+        windyImage1 = AssetRegistry.bodyImage(world, "data/Props/ClothesWindy.png", 12f);
+        windyImage2 = idleImage;
+        noRugImage = AssetRegistry.bodyImage(world, "data/Props/ClothesNoRug.png", 12f);
+
         setPosition(position);
         Shape clothesShape = new BoxShape(1.5f, 0.5f);
         new GhostlyFixture(this, clothesShape);
@@ -57,9 +66,9 @@ public class LaundryString extends StaticBody implements SensorListener {
             startWindAnimation();
 
             // Drop the rug after 3.5 seconds
-            Timer rugDropTimer = new Timer(3500, ev -> dropRug());
-            rugDropTimer.setRepeats(false);
-            rugDropTimer.start();
+            if (rugDropTimer == null) {
+                rugDropTimer = world.getTimers().schedule(TimerWheel.millisToSteps(3500), this::dropRug);
+            }
         }
     }
 
@@ -74,12 +83,12 @@ public class LaundryString extends StaticBody implements SensorListener {
     private void startWindAnimation() {
         if (animationTimer != null) return;
 
-        animationTimer = new Timer(400, e -> {
+        int period = TimerWheel.millisToSteps(400);
+        animationTimer = world.getTimers().scheduleRepeating(period, period, () -> {
             removeAttachedImage(currentImage);
             currentImage = addImage(toggleWindImage ? windyImage1 : windyImage2);
             toggleWindImage = !toggleWindImage;
         });
-        animationTimer.start();
     }
 
     /**
@@ -87,7 +96,7 @@ public class LaundryString extends StaticBody implements SensorListener {
      */
     private void stopWindAnimation() {
         if (animationTimer != null) {
-            animationTimer.stop();
+            animationTimer.cancel();
             animationTimer = null;
         }
     }
@@ -98,13 +107,34 @@ public class LaundryString extends StaticBody implements SensorListener {
     private void dropRug() {
         if (rugHasFallen) return;
 
-        new RugPickup(world, rugDropPosition);
+        world.getStreamer().markUsed(this);
+        world.getStreamer().drop(Placement.Kind.RUG_PICKUP, rugDropPosition);
+        removeRug();
+    }
+
+    /**
+     * Switches to the "no rug" version of the clothes without dropping anything,
+     * e.g. when the string is rebuilt after its rug has already fallen.
+     */
+    public void removeRug() {
+        if (rugHasFallen) return;
 
         stopWindAnimation();
+        if (rugDropTimer != null) rugDropTimer.cancel();
         removeAttachedImage(currentImage);
         currentImage = addImage(noRugImage);
 
         sensor.removeSensorListener(this);
         rugHasFallen = true;
     }
+
+    /**
+     * Stops the string's timers and removes it from the world.
+     */
+    @Override
+    public void destroy() {
+        stopWindAnimation();
+        if (rugDropTimer != null) rugDropTimer.cancel();
+        super.destroy();
+    }
 }
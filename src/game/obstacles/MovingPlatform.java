@@ -1,12 +1,20 @@
 package game.obstacles;
 
 import city.cs.engine.*;
+import game.main.ActivationManager;
+import game.main.GameWorld;
+import game.utils.Activatable;
+import game.utils.Snapshottable;
+import game.utils.VecMath;
 import org.jbox2d.common.Vec2;
 
+import java.nio.ByteBuffer;
+
 /**
  * A moving platform that moves horizontally or vertically between set limits.
+ * Off-screen it moves in bigger, less frequent steps, and far away it stops until the cat comes back.
  */
-public class MovingPlatform extends StaticBody implements StepListener {
+public class MovingPlatform extends StaticBody implements Activatable, Snapshottable {
     private float speed = 1.5f;
     private boolean movingUp = true;
     private boolean movingRight = true;
@@ -15,6 +23,9 @@ public class MovingPlatform extends StaticBody implements StepListener {
     private float leftLimit;
     private float rightLimit;
     private boolean vertical; // true for vertical movement, false for horizontal
+    private final World world;
+    private Tier tier = Tier.FULL;
+    private final Vec2 nextPosition = new Vec2(); // Scratch for move
 
     /**
      * Creates a moving platform at a specified position.
@@ -26,7 +37,56 @@ public class MovingPlatform extends StaticBody implements StepListener {
     public MovingPlatform(World world, float width, float height, Vec2 position) {
         super(world, new BoxShape(width / 2, height / 2));
         setPosition(new Vec2(position.x, position.y - (height / 2)));
-        world.addStepListener(this);
+        this.world = world;
+        if (world instanceof GameWorld gw) {
+            gw.getScheduler().register(this);
+            gw.getActivation().add(this);
+        }
+    }
+
+    @Override
+    public Body getBody() {
+        return this;
+    }
+
+    @Override
+    public Tier getTier() {
+        return tier;
+    }
+
+    /** Leaves the movement system while asleep. */
+    @Override
+    public void setTier(Tier tier) {
+        if (world instanceof GameWorld gw) {
+            if (tier == Tier.ASLEEP) {
+                gw.getScheduler().unregister(this);
+            } else if (this.tier == Tier.ASLEEP) {
+                gw.getScheduler().register(this);
+            }
+        }
+        this.tier = tier;
+    }
+
+    @Override
+    public int getStateSize() {
+        return 9;
+    }
+
+    /** Saves where the platform is and which way it is going. */
+    @Override
+    public void writeState(ByteBuffer out) {
+        Vec2 position = getPosition();
+        out.putFloat(position.x);
+        out.putFloat(position.y);
+        out.put((byte) ((movingUp ? 1 : 0) | (movingRight ? 2 : 0)));
+    }
+
+    @Override
+    public void readState(ByteBuffer in) {
+        setPosition(VecMath.set(nextPosition, in.getFloat(), in.getFloat()));
+        byte directions = in.get();
+        movingUp = (directions & 1) != 0;
+        movingRight = (directions & 2) != 0;
     }
 
     /**
@@ -64,33 +124,51 @@ public class MovingPlatform extends StaticBody implements StepListener {
     }
 
     /**
-     * Moves the platform slightly every frame according to its direction.
+     * Moves the platform slightly every step according to its direction. Run by the world's movement system.
      */
-    @Override
-    public void preStep(StepEvent e) {
+    public void move() {
+        // In the reduced band, move every few steps by the distance of all of them
+        int steps = 1;
+        if (tier == Tier.REDUCED && world instanceof GameWorld gw) {
+            if (!ActivationManager.isUpdateStep(tier, gw.getStep())) return;
+            steps = ActivationManager.REDUCED_INTERVAL;
+        }
+        float distance = speed * 0.05f * steps;
         Vec2 position = getPosition();
 
+        // Stops at a limit rather than going past it, which the bigger reduced steps would do noticeably
         if (vertical) { // Vertical movement
-            if (movingUp) {
-                setPosition(new Vec2(position.x, position.y + speed * 0.05f));
-                if (position.y >= upperLimit) movingUp = false;
-            } else {
-                setPosition(new Vec2(position.x, position.y - speed * 0.05f));
-                if (position.y <= lowerLimit) movingUp = true;
+            float y = position.y + (movingUp ? distance : -distance);
+            if (movingUp && y >= upperLimit) {
+                y = upperLimit;
+                movingUp = false;
+            } else if (!movingUp && y <= lowerLimit) {
+                y = lowerLimit;
+                movingUp = true;
             }
+            setPosition(VecMath.set(nextPosition, position.x, y));
         } else { // Horizontal movement
-            if (movingRight) {
-                setPosition(new Vec2(position.x + speed * 0.05f, position.y));
-                if (position.x >= rightLimit) movingRight = false;
-            } else {
-                setPosition(new Vec2(position.x - speed * 0.05f, position.y));
-                if (position.x <= leftLimit) movingRight = true;
+            float x = position.x + (movingRight ? distance : -distance);
+            if (movingRight && x >= rightLimit) {
+                x = rightLimit;
+                movingRight = false;
+            } else if (!movingRight && x <= leftLimit) {
+                x = leftLimit;
+                movingRight = true;
             }
+            setPosition(VecMath.set(nextPosition, x, position.y));
         }
     }
 
+    /**
+     * Stops moving and removes the platform from the world.
+     */
     @Override
-    public void postStep(StepEvent e) {
-        // Nothing needed here
+    public void destroy() {
+        if (world instanceof GameWorld gw) {
+            gw.getScheduler().unregister(this);
+            gw.getActivation().remove(this);
+        }
+        super.destroy();
     }
 }
@@ -1,13 +1,17 @@
 package game.obstacles;
 
 import city.cs.engine.*;
-import city.cs.engine.Shape;
+import game.assets.AssetRegistry;
+import game.main.GameWorld;
 import org.jbox2d.common.Vec2;
 
 import java.awt.*;
 
 /**
  * A static platform made up of tiled blocks for the player to walk on.
+ * The whole platform is a single body: the walkable top row is merged into one solid fixture
+ * and the base is a ghostly fixture. Tiles are drawn by the world's tile chunk renderer
+ * (or as attached images when the world has none).
  */
 public class Platform extends StaticBody {
 
@@ -31,35 +35,51 @@ public class Platform extends StaticBody {
         float centerY = topY - height / 2f;
 
         this.setPosition(new Vec2(centerX, centerY));
-        Shape shape = new BoxShape(width / 2f, height / 2f);
-        new GhostlyFixture(this, shape); // Makes it collide but invisible
+        StaticGeometry geometry = world instanceof GameWorld gw ? gw.getStaticGeometry() : new StaticGeometry();
+        geometry.addGhostlyBox(this, width / 2f, height / 2f); // Makes it collide but invisible
 
         this.setFillColor(new Color(0, 0, 0, 0));
         this.setLineColor(new Color(0, 0, 0, 0));
 
-        // Create stacked base images
+        // Create stacked base tiles
         for (int y = 0; y < baseHeight; y++) {
             for (int x = 0; x < widthInBlocks; x++) {
                 float tileX = centerX - width / 2f + (x + 0.5f) * tileSize;
                 float tileY = topY - (y + 1) * tileSize + tileSize / 2f;
-
-                new AttachedImage(
-                        this,
-                        new BodyImage(baseImagePath, tileSize),
-                        1f,
-                        0f,
-                        new Vec2(tileX - centerX, tileY - centerY)
-                );
+                addTile(world, baseImagePath, new Vec2(tileX, tileY), tileSize);
             }
         }
 
-        // Create solid top blocks
-        float topRowY = topY;
+        // Create the solid top row as one merged fixture, keeping one tile image per block
+        float topRowOffset = topY - centerY;
+        geometry.addSolidRow(this, widthInBlocks, tileSize, new Vec2(0, topRowOffset));
         for (int x = 0; x < widthInBlocks; x++) {
             float tileX = centerX - width / 2f + (x + 0.5f) * tileSize;
-            StaticBody topTile = new StaticBody(world, new BoxShape(tileSize / 2f, tileSize / 2f));
-            topTile.setPosition(new Vec2(tileX, topRowY));
-            topTile.addImage(new BodyImage(topImagePath, tileSize));
+            addTile(world, topImagePath, new Vec2(tileX, topY), tileSize);
+        }
+    }
+
+    /**
+     * Destroys the platform and removes its tiles from the world's tile chunks and static geometry.
+     */
+    @Override
+    public void destroy() {
+        if (getWorld() instanceof GameWorld gw) {
+            gw.getTileChunks().removeOwner(this);
+            gw.getStaticGeometry().removeOwner(this);
+        }
+        super.destroy();
+    }
+
+    /**
+     * Adds one tile image, baked into the world's tile chunks when possible.
+     */
+    private void addTile(World world, String imagePath, Vec2 position, float tileSize) {
+        if (world instanceof GameWorld gw) {
+            gw.getTileChunks().addTile(this, imagePath, position, tileSize, 0f);
+        } else {
+            BodyImage image = AssetRegistry.bodyImage(world, imagePath, tileSize);
+            new AttachedImage(this, image, 1f, 0f, position.sub(getPosition()));
         }
     }
 }
@@ -1,10 +1,13 @@
 package game.obstacles;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
+import game.main.GameWorld;
 import org.jbox2d.common.Vec2;
 
 /**
  * A solid roof object made of tiles, which can be rotated at an angle.
+ * The rotated tiles are baked into the world's tile chunks when possible.
  */
 public class Roof extends StaticBody {
 
@@ -47,14 +50,30 @@ public class Roof extends StaticBody {
             float rotatedX = (float)(localX * Math.cos(angleRadians) - localY * Math.sin(angleRadians));
             float rotatedY = (float)(localX * Math.sin(angleRadians) + localY * Math.cos(angleRadians));
 
-            AttachedImage img = new AttachedImage(
-                    this,
-                    new BodyImage(roofTileImagePath, tileSize),
-                    1f,
-                    0f,
-                    new Vec2(rotatedX, rotatedY)
-            );
-            img.setRotation(angleRadians);
+            if (world instanceof GameWorld gw) {
+                gw.getTileChunks().addTile(this, roofTileImagePath,
+                        new Vec2(centerX + rotatedX, centerY + rotatedY), tileSize, angleRadians);
+            } else {
+                AttachedImage img = new AttachedImage(
+                        this,
+                        AssetRegistry.bodyImage(world, roofTileImagePath, tileSize),
+                        1f,
+                        0f,
+                        new Vec2(rotatedX, rotatedY)
+                );
+                img.setRotation(angleRadians);
+            }
         }
     }
+
+    /**
+     * Destroys the roof and removes its tiles from the world's tile chunks.
+     */
+    @Override
+    public void destroy() {
+        if (getWorld() instanceof GameWorld gw) {
+            gw.getTileChunks().removeOwner(this);
+        }
+        super.destroy();
+    }
 }
@@ -0,0 +1,141 @@
+package game.obstacles;
+
+import city.cs.engine.BoxShape;
+import city.cs.engine.CollisionListener;
+import city.cs.engine.GhostlyFixture;
+import city.cs.engine.SolidFixture;
+import city.cs.engine.StaticBody;
+import org.jbox2d.common.Vec2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles tiled level geometry into as few physics fixtures as possible.
+ * A row of contiguous tiles becomes one box fixture on its owner's body instead of one body per tile,
+ * and the counts before and after merging are kept so each level can report the saving.
+ * <p>
+ * Contacts with the solid rows are counted as they begin, so a run can compare them with merging on and off.
+ * Run with -Dgame.mergeGeometry=false (or HeadlessRunner's --unmerged) to build one body per tile as before.
+ */
+public class StaticGeometry {
+    /** System property that turns merging off when set to false. */
+    public static final String MERGE_PROPERTY = "game.mergeGeometry";
+
+    private final boolean merge = !"false".equals(System.getProperty(MERGE_PROPERTY));
+    private long contacts = 0;
+    private final CollisionListener contactCounter = e -> contacts++;
+    private final Set<StaticBody> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<StaticBody, List<StaticBody>> tileBodies = new IdentityHashMap<>();
+    private int bodiesBefore = 0;
+    private int bodiesAfter = 0;
+    private int fixturesBefore = 0;
+    private int fixturesAfter = 0;
+
+    /**
+     * Adds a solid row of tiles to a body as one merged box fixture, or as one body per tile with merging off.
+     * @param owner the static body the row belongs to
+     * @param tiles number of contiguous tiles in the row
+     * @param tileSize width and height of one tile
+     * @param centre centre of the row relative to the owner
+     */
+    public void addSolidRow(StaticBody owner, int tiles, float tileSize, Vec2 centre) {
+        if (tiles <= 0) return;
+        bodiesBefore += tiles;
+        fixturesBefore += tiles;
+
+        if (!merge) {
+            Vec2 origin = owner.getPosition();
+            List<StaticBody> bodies = tileBodies.computeIfAbsent(owner, k -> new ArrayList<>());
+            for (int i = 0; i < tiles; i++) {
+                StaticBody tile = new StaticBody(owner.getWorld(), new BoxShape(tileSize / 2f, tileSize / 2f));
+                tile.setPosition(new Vec2(origin.x + centre.x + (i + 0.5f - tiles / 2f) * tileSize,
+                        origin.y + centre.y));
+                tile.addCollisionListener(contactCounter);
+                bodies.add(tile);
+            }
+            bodiesAfter += tiles;
+            fixturesAfter += tiles;
+            return;
+        }
+
+        // One body and fixture per tile before, one fixture on an existing body after
+        new SolidFixture(owner, new BoxShape(tiles * tileSize / 2f, tileSize / 2f, centre));
+        fixturesAfter += 1;
+        if (counted.add(owner)) owner.addCollisionListener(contactCounter);
+    }
+
+    /**
+     * Removes the tile bodies an owner's rows were built from with merging off, when the owner is destroyed.
+     */
+    public void removeOwner(StaticBody owner) {
+        counted.remove(owner);
+        List<StaticBody> bodies = tileBodies.remove(owner);
+        if (bodies == null) return;
+        for (StaticBody tile : bodies) {
+            tile.destroy();
+        }
+    }
+
+    /**
+     * Adds a non-colliding box (e.g. the visual base of a platform) to a body.
+     * @param owner the static body the box belongs to
+     * @param halfWidth half the box width
+     * @param halfHeight half the box height
+     */
+    public void addGhostlyBox(StaticBody owner, float halfWidth, float halfHeight) {
+        bodiesBefore += 1;
+        bodiesAfter += 1;
+        if (halfWidth <= 0 || halfHeight <= 0) {
+            // Empty base: the old code still created a zero-height fixture for it
+            fixturesBefore += 1;
+            return;
+        }
+        new GhostlyFixture(owner, new BoxShape(halfWidth, halfHeight));
+        fixturesBefore += 1;
+        fixturesAfter += 1;
+    }
+
+    /** Returns how many bodies the tiles would have used without merging. */
+    public int getBodiesBefore() {
+        return bodiesBefore;
+    }
+
+    /** Returns how many bodies the tiles use after merging. */
+    public int getBodiesAfter() {
+        return bodiesAfter;
+    }
+
+    /** Returns how many fixtures the tiles would have used without merging. */
+    public int getFixturesBefore() {
+        return fixturesBefore;
+    }
+
+    /** Returns how many fixtures the tiles use after merging. */
+    public int getFixturesAfter() {
+        return fixturesAfter;
+    }
+
+    /** Returns how many contacts with the solid rows have begun so far. */
+    public long getContacts() {
+        return contacts;
+    }
+
+    /** Returns whether rows are merged, or built one body per tile. */
+    public boolean isMerged() {
+        return merge;
+    }
+
+    /**
+     * Returns a one-line summary of the merge and the contacts counted so far, e.g. for logging after a run.
+     */
+    public String report(String levelName) {
+        return String.format("%s static geometry (%s): bodies %d -> %d, fixtures %d -> %d, %d contacts begun",
+                levelName, merge ? "merged" : "unmerged", bodiesBefore, bodiesAfter, fixturesBefore, fixturesAfter,
+                contacts);
+    }
+}
@@ -1,8 +1,10 @@
 package game.pickups;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
 import game.sounds.SoundEffectManager;
 import game.characters.Cat;
+import game.main.GameWorld;
 import org.jbox2d.common.Vec2;
 
 /**
@@ -10,7 +12,7 @@ import org.jbox2d.common.Vec2;
  */
 public class RugPickup extends StaticBody implements SensorListener {
     private static final Shape shape = new CircleShape(0.5f);
-    private static final BodyImage rugImage = new BodyImage("data/Props/rugIcon.png", 12f);
+    private static final BodyImage rugImage = AssetRegistry.bodyImage("data/Props/rugIcon.png", 12f);
 
     private final Sensor sensor;
 
@@ -35,7 +37,10 @@ public class RugPickup extends StaticBody implements SensorListener {
     public void beginContact(SensorEvent e) {
         if (e.getContactBody() instanceof Cat cat) {
             cat.pickUpRug();
-            SoundEffectManager.play("data/Sounds/Pickup.wav", true);
+            SoundEffectManager.play(getWorld(), "data/Sounds/Pickup.wav", true);
+            if (getWorld() instanceof GameWorld gw) {
+                gw.getStreamer().markUsed(this);
+            }
             destroy();
         }
     }
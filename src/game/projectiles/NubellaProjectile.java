@@ -1,6 +1,7 @@
 package game.projectiles;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
 import game.characters.Pigeon;
 import game.characters.ThiefCat;
 import game.sounds.SoundEffectManager;
@@ -9,45 +10,41 @@ import org.jbox2d.common.Vec2;
 /**
  * A projectile fired by the Cat that deals double damage to enemies.
  */
-public class NubellaProjectile extends DynamicBody implements CollisionListener {
+public class NubellaProjectile extends Projectile {
 
     private static final Shape nubellaShape = new CircleShape(0.6f);
-    private static final BodyImage nubellaImage = new BodyImage("data/Weapons/NubellaProjectile.png", 1.2f);
+    private static final BodyImage nubellaImage = AssetRegistry.bodyImage("data/Weapons/NubellaProjectile.png", 1.2f);
 
     /**
-     * Creates a Nubella projectile with a starting position and horizontal velocity.
+     * Creates a parked Nubella projectile, ready to be fired by the projectile pool.
      * @param world the game world
-     * @param position the starting position of the projectile
-     * @param velocityX the horizontal speed (positive for right, negative for left)
      */
-    public NubellaProjectile(World world, Vec2 position, float velocityX) {
-        super(world, nubellaShape);
-        setPosition(position);
-        addImage(nubellaImage);
-        setLinearVelocity(new Vec2(velocityX, 2)); // Moves slightly upward
-        setGravityScale(0.3f); // Falls slowly
+    public NubellaProjectile(World world) {
+        super(world, nubellaShape, nubellaImage, 0.3f); // Falls slowly
+    }
 
-        addCollisionListener(this);
+    /**
+     * Fires the projectile.
+     * @param position the starting position
+     * @param velocityX the horizontal speed (positive for right, negative for left)
+     * @param step the world step it is fired on
+     */
+    void fireFrom(Vec2 position, float velocityX, long step) {
+        launch(position, new Vec2(velocityX, 2), step); // Moves slightly upward
     }
 
     /**
      * Handles collision with enemies or objects.
      */
     @Override
-    public void collide(CollisionEvent e) {
-        Body other = e.getOtherBody();
-
+    protected void hit(Body other) {
         if (other instanceof Pigeon pigeon) {
-            SoundEffectManager.play("data/Sounds/PigeonHit.WAV", true);
+            SoundEffectManager.play(getWorld(), "data/Sounds/PigeonHit.WAV", true);
             pigeon.nubellaHit(); // Deals double damage
-            this.destroy();
         } else if (other instanceof ThiefCat thief) {
-            SoundEffectManager.play("data/Sounds/ThiefCatHit.WAV", true);
+            SoundEffectManager.play(getWorld(), "data/Sounds/ThiefCatHit.WAV", true);
             thief.nubellaHit(); // Deals double damage
-            this.destroy();
-        } else {
-            // Destroy on any other collision
-            this.destroy();
         }
+        // The projectile is spent on any collision
     }
 }
@@ -0,0 +1,107 @@
+package game.projectiles;
+
+import city.cs.engine.*;
+import org.jbox2d.common.Vec2;
+
+/**
+ * Base class for the projectiles the Cat throws. Projectiles are reused by a {@link ProjectilePool}:
+ * instead of being destroyed, a projectile that hits something, leaves the camera band or gets too old is parked
+ * (no fixture, no image, at rest far below the level) until it is launched again.
+ */
+public abstract class Projectile extends DynamicBody implements CollisionListener {
+    private static final Vec2 PARKED_POSITION = new Vec2(0, -1000);
+
+    private final Shape shape;
+    private final BodyImage image;
+    private final float gravityScale;
+    private SolidFixture fixture;
+    private boolean active = false;
+    private boolean released = false;
+    private long launchStep;
+
+    /**
+     * Creates a parked projectile.
+     * @param world the game world
+     * @param shape collision shape while in flight
+     * @param image image while in flight
+     * @param gravityScale gravity scale while in flight
+     */
+    protected Projectile(World world, Shape shape, BodyImage image, float gravityScale) {
+        super(world);
+        this.shape = shape;
+        this.image = image;
+        this.gravityScale = gravityScale;
+        addCollisionListener(this);
+        park();
+    }
+
+    /**
+     * Puts the projectile in flight.
+     * @param position starting position
+     * @param velocity starting velocity
+     * @param step the world step it was launched on
+     */
+    protected void launch(Vec2 position, Vec2 velocity, long step) {
+        fixture = new SolidFixture(this, shape);
+        addImage(image);
+        setGravityScale(gravityScale);
+        setPosition(position);
+        setLinearVelocity(velocity);
+        active = true;
+        released = false;
+        launchStep = step;
+    }
+
+    /**
+     * Takes the projectile out of play until it is launched again.
+     */
+    void park() {
+        if (fixture != null) {
+            fixture.destroy();
+            fixture = null;
+        }
+        removeAllImages();
+        setGravityScale(0);
+        setLinearVelocity(new Vec2(0, 0));
+        setPosition(PARKED_POSITION);
+        active = false;
+        released = false;
+    }
+
+    /**
+     * Returns whether the projectile is in flight and hasn't hit anything yet.
+     */
+    public boolean isActive() {
+        return active && !released;
+    }
+
+    /**
+     * Returns whether the projectile has hit something and is waiting to be parked.
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Gets the world step the projectile was last launched on.
+     */
+    long getLaunchStep() {
+        return launchStep;
+    }
+
+    /**
+     * Handles the first collision of a flight, then hands the projectile back to its pool.
+     * The pool parks it at the start of the next step, outside the physics step.
+     */
+    @Override
+    public void collide(CollisionEvent e) {
+        if (!isActive()) return;
+        released = true;
+        hit(e.getOtherBody());
+    }
+
+    /**
+     * Applies the projectile's effect to whatever it hit.
+     */
+    protected abstract void hit(Body other);
+}
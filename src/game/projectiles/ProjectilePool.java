@@ -0,0 +1,178 @@
+package game.projectiles;
+
+import game.main.ActivationManager;
+import game.main.GameWorld;
+import game.main.TimerWheel;
+import org.jbox2d.common.Vec2;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * A bounded pool of the Cat's projectiles. Bodies are created the first few times the Cat throws and then
+ * reused, so throwing doesn't create and destroy a body (and its fixture and image) every time.
+ * A projectile goes back to the pool when it hits something, when it leaves the camera band
+ * or when it has been flying for longer than its lifetime. When every projectile of a kind is in flight,
+ * the oldest one is taken back early.
+ */
+public class ProjectilePool {
+
+    /** Most rocks that can exist at once. A rock lives under a second in normal play. */
+    public static final int MAX_ROCKS = 12;
+    /** Most Nubella projectiles that can exist at once. Each one costs a collected Nubella. */
+    public static final int MAX_NUBELLAS = 4;
+    /** Steps a rock can fly before it is taken back. */
+    public static final int ROCK_LIFETIME = TimerWheel.millisToSteps(4000);
+    /** Steps a Nubella projectile can fly before it is taken back. It falls slowly, so it gets longer. */
+    public static final int NUBELLA_LIFETIME = TimerWheel.millisToSteps(6000);
+    /** Projectiles this far outside the full activation band are off screen and taken back. */
+    public static final float BAND_MARGIN = 4f;
+
+    private final GameWorld world;
+    private final Slots<RockProjectile> rocks;
+    private final Slots<NubellaProjectile> nubellas;
+    private long reused = 0;
+    private long recycled = 0;
+    private long expired = 0;
+    private long leftBand = 0;
+
+    /**
+     * Creates an empty projectile pool for a world.
+     */
+    public ProjectilePool(GameWorld world) {
+        this.world = world;
+        this.rocks = new Slots<>(MAX_ROCKS, ROCK_LIFETIME, RockProjectile::new);
+        this.nubellas = new Slots<>(MAX_NUBELLAS, NUBELLA_LIFETIME, NubellaProjectile::new);
+    }
+
+    /**
+     * Throws a rock.
+     * @param position the thrower's hand position
+     * @param speed the horizontal speed (positive for right, negative for left)
+     */
+    public void throwRock(Vec2 position, float speed) {
+        rocks.acquire().throwFrom(position, speed, world.getStep());
+    }
+
+    /**
+     * Fires a Nubella projectile.
+     * @param position the starting position
+     * @param velocityX the horizontal speed (positive for right, negative for left)
+     */
+    public void fireNubella(Vec2 position, float velocityX) {
+        nubellas.acquire().fireFrom(position, velocityX, world.getStep());
+    }
+
+    /**
+     * Takes back projectiles that hit something last step, left the camera band or are too old.
+     * Called once per step, outside the physics step, since fixtures can't be removed during a collision.
+     * @param focusX x of the world point the camera is centred on
+     * @param focusY y of the world point the camera is centred on
+     */
+    public void update(float focusX, float focusY) {
+        rocks.update(focusX, focusY);
+        nubellas.update(focusX, focusY);
+    }
+
+    /**
+     * Takes back every projectile in flight, e.g. when the world is restored from a snapshot.
+     */
+    public void reset() {
+        rocks.reset();
+        nubellas.reset();
+    }
+
+    /**
+     * Gets the number of projectiles in flight.
+     */
+    public int getLiveCount() {
+        return rocks.live.size() + nubellas.live.size();
+    }
+
+    /**
+     * Gets the number of parked projectiles waiting to be reused.
+     */
+    public int getPooledCount() {
+        return rocks.idle.size() + nubellas.idle.size();
+    }
+
+    /**
+     * Summarises the pool for logging.
+     */
+    public String report() {
+        return String.format("Projectiles: rocks %d live / %d pooled (%d of %d created), "
+                        + "nubellas %d live / %d pooled (%d of %d created), "
+                        + "%d reused, %d expired, %d left the camera, %d recycled early",
+                rocks.live.size(), rocks.idle.size(), rocks.created, MAX_ROCKS,
+                nubellas.live.size(), nubellas.idle.size(), nubellas.created, MAX_NUBELLAS,
+                reused, expired, leftBand, recycled);
+    }
+
+    /**
+     * The projectiles of one kind: those in flight, oldest first, and those parked.
+     */
+    private class Slots<T extends Projectile> {
+        private final int max;
+        private final int lifetime;
+        private final Function<GameWorld, T> factory;
+        private final ArrayDeque<T> live = new ArrayDeque<>();
+        private final ArrayDeque<T> idle = new ArrayDeque<>();
+        private int created = 0;
+
+        Slots(int max, int lifetime, Function<GameWorld, T> factory) {
+            this.max = max;
+            this.lifetime = lifetime;
+            this.factory = factory;
+        }
+
+        /**
+         * Gets a parked projectile, creating one while under the limit or taking back the oldest one after that.
+         */
+        T acquire() {
+            T projectile = idle.poll();
+            if (projectile != null) {
+                reused++;
+            } else if (created < max) {
+                projectile = factory.apply(world);
+                created++;
+            } else {
+                projectile = live.poll();
+                projectile.park();
+                recycled++;
+            }
+            live.add(projectile);
+            return projectile;
+        }
+
+        void reset() {
+            for (T projectile : live) {
+                projectile.park();
+                idle.push(projectile);
+            }
+            live.clear();
+        }
+
+        void update(float focusX, float focusY) {
+            long step = world.getStep();
+            Iterator<T> it = live.iterator();
+            while (it.hasNext()) {
+                T projectile = it.next();
+                if (!projectile.isReleased()) {
+                    Vec2 position = projectile.getPosition();
+                    if (step - projectile.getLaunchStep() > lifetime) {
+                        expired++;
+                    } else if (Math.abs(position.x - focusX) > ActivationManager.FULL_HALF_WIDTH + BAND_MARGIN
+                            || Math.abs(position.y - focusY) > ActivationManager.FULL_HALF_HEIGHT + BAND_MARGIN) {
+                        leftBand++;
+                    } else {
+                        continue;
+                    }
+                }
+                projectile.park();
+                it.remove();
+                idle.push(projectile);
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package game.props;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
+import game.main.GameWorld;
 import org.jbox2d.common.Vec2;
 
 /**
  * A simple background prop like a plant, a building, or a cart that does not affect gameplay.
+ * Its image is drawn by the world's scenery layer so it can be culled when off-screen.
  */
 public class BackgroundProp extends StaticBody {
 
@@ -21,6 +24,21 @@ public class BackgroundProp extends StaticBody {
         new GhostlyFixture(this, shape);
 
         setPosition(position);
-        addImage(new BodyImage(imagePath, scale));
+        if (world instanceof GameWorld gw) {
+            gw.getScenery().add(this, imagePath, position, scale);
+        } else {
+            addImage(AssetRegistry.bodyImage(world, imagePath, scale));
+        }
+    }
+
+    /**
+     * Destroys the prop and removes its image from the scenery layer.
+     */
+    @Override
+    public void destroy() {
+        if (getWorld() instanceof GameWorld gw) {
+            gw.getScenery().removeOwner(this);
+        }
+        super.destroy();
     }
 }
@@ -1,20 +1,28 @@
 package game.props;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
 import game.characters.Cat;
+import game.main.ActivationManager;
 import game.main.GameWorld;
+import game.main.SpatialIndex;
 import game.sounds.SoundEffectManager;
+import game.utils.Activatable;
 import org.jbox2d.common.Vec2;
 
 /**
  * A cart that plays a Balila seller sound when the Cat gets close.
+ * It stops checking for the cat while it is far off-screen.
  */
-public class BalilaCart extends StaticBody implements StepListener {
+public class BalilaCart extends StaticBody implements Activatable {
     private static final float TRIGGER_DISTANCE = 6f;
     private final Cat cat;
+    private final SpatialIndex spatialIndex;
     private boolean playingSound = false;
+    private final GameWorld world;
+    private Tier tier = Tier.FULL;
 
-    private final BodyImage idleImage = new BodyImage("data/Props/MenCart2.png", 12f);
+    private final BodyImage idleImage;
 
     /**
      * Creates a Balila cart in the world.
@@ -27,27 +35,58 @@ public class BalilaCart extends StaticBody implements StepListener {
         Shape cartShape = new BoxShape(2.5f, 1.5f);
         new GhostlyFixture(this, cartShape);
 
+        idleImage = AssetRegistry.bodyImage(world, "data/Props/MenCart2.png", 12f);
         addImage(idleImage);
         setPosition(position);
         this.cat = cat;
-        world.addStepListener(this);
+        this.spatialIndex = world.getSpatialIndex();
+        spatialIndex.add(this, false);
+        this.world = world;
+        world.getScheduler().register(this);
+        world.getActivation().add(this);
+    }
+
+    @Override
+    public Body getBody() {
+        return this;
+    }
+
+    @Override
+    public Tier getTier() {
+        return tier;
+    }
+
+    /** Leaves the AI system while asleep. */
+    @Override
+    public void setTier(Tier tier) {
+        if (tier == Tier.ASLEEP) {
+            world.getScheduler().unregister(this);
+        } else if (this.tier == Tier.ASLEEP) {
+            world.getScheduler().register(this);
+        }
+        this.tier = tier;
     }
 
     /**
-     * Plays a sound effect when the Cat gets close enough.
+     * Plays a sound effect when the Cat gets close enough. Run by the world's AI phase.
      */
-    @Override
-    public void preStep(StepEvent e) {
-        float distance = this.getPosition().sub(cat.getPosition()).length();
+    public void update() {
+        if (!ActivationManager.isUpdateStep(tier, world.getStep())) return;
 
-        if (distance < TRIGGER_DISTANCE && !playingSound) {
-            SoundEffectManager.play("data/sounds/BalilaSeller.wav", false);
+        if (!playingSound && spatialIndex.isWithin(cat, getPosition(), TRIGGER_DISTANCE)) {
+            SoundEffectManager.play(getWorld(), "data/sounds/BalilaSeller.wav", false);
             playingSound = true;
         }
     }
 
+    /**
+     * Stops updating and removes the cart from the world.
+     */
     @Override
-    public void postStep(StepEvent e) {
-        // Nothing needed here
+    public void destroy() {
+        world.getScheduler().unregister(this);
+        world.getActivation().remove(this);
+        spatialIndex.remove(this);
+        super.destroy();
     }
 }
@@ -1,26 +1,31 @@
 package game.props;
 
 import city.cs.engine.*;
+import game.assets.AssetRegistry;
+import game.main.GameTimer;
+import game.main.GameWorld;
+import game.main.SpatialIndex;
+import game.main.TimerWheel;
 import game.characters.Cat;
 import game.projectiles.NubellaProjectile;
 import game.projectiles.RockProjectile;
 import game.sounds.SoundEffectManager;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
-
 /**
  * A bucket that rolls toward the Cat when approached and damages on collision.
  */
 public class RollingPaintBucket extends DynamicBody implements CollisionListener {
     private static final Shape bucketShape = new CircleShape(0.75f);
-    private static final BodyImage bucketImage = new BodyImage("data/Props/Bucket.png", 2f);
+    private static final BodyImage bucketImage = AssetRegistry.bodyImage("data/Props/Bucket.png", 2f);
 
     private final Cat cat;
     private boolean hasStartedRolling = false;
     private boolean destroyed = false;
-    private Timer proximityTimer;
-    private Timer autoDestroyTimer;
+    private final TimerWheel timers;
+    private final SpatialIndex spatialIndex;
+    private GameTimer proximityTimer;
+    private GameTimer autoDestroyTimer;
 
     /**
      * Creates a paint bucket that rolls toward the Cat if nearby.
@@ -28,9 +33,12 @@ public class RollingPaintBucket extends DynamicBody implements CollisionListener
      * @param position starting position
      * @param cat the player character
      */
-    public RollingPaintBucket(World world, Vec2 position, Cat cat) {
+    public RollingPaintBucket(GameWorld world, Vec2 position, Cat cat) {
         super(world, bucketShape);
         this.cat = cat;
+        this.timers = world.getTimers();
+        this.spatialIndex = world.getSpatialIndex();
+        spatialIndex.add(this, true);
         setPosition(position);
         addImage(bucketImage);
         addCollisionListener(this);
@@ -38,8 +46,8 @@ public class RollingPaintBucket extends DynamicBody implements CollisionListener
         setGravityScale(0);
         setLinearVelocity(new Vec2(0, 0));
 
-        proximityTimer = new Timer(200, e -> checkCatProximity());
-        proximityTimer.start();
+        int period = TimerWheel.millisToSteps(200);
+        proximityTimer = timers.scheduleRepeating(period, period, this::checkCatProximity);
     }
 
     /**
@@ -48,8 +56,8 @@ public class RollingPaintBucket extends DynamicBody implements CollisionListener
     private void checkCatProximity() {
         if (hasStartedRolling || destroyed || cat == null) return;
 
-        float xDistance = Math.abs(this.getPosition().x - cat.getPosition().x);
-        if (xDistance < 8f) {
+        // Only the horizontal distance matters, the bucket rolls down from any height
+        if (spatialIndex.isWithinBox(cat, getPosition(), 8f, Float.POSITIVE_INFINITY)) {
             startRolling();
         }
     }
@@ -59,22 +67,23 @@ public class RollingPaintBucket extends DynamicBody implements CollisionListener
      */
     private void startRolling() {
         hasStartedRolling = true;
+        // Once it has rolled it is used up, it won't be rebuilt if its part of the level reloads
+        if (getWorld() instanceof GameWorld gw) {
+            gw.getStreamer().markUsed(this);
+        }
         setGravityScale(2f);
         applyImpulse(new Vec2(-1, 0));
 
-        SoundEffectManager.play("data/Sounds/Rolling.wav", false);
+        SoundEffectManager.play(getWorld(), "data/Sounds/Rolling.wav", false);
 
-        if (proximityTimer != null) proximityTimer.stop();
+        if (proximityTimer != null) proximityTimer.cancel();
 
         // Auto destroy after 10 seconds
-        autoDestroyTimer = new Timer(10000, e -> {
+        autoDestroyTimer = timers.schedule(TimerWheel.millisToSteps(10000), () -> {
             if (!destroyed) {
-                SoundEffectManager.stop("data/Sounds/Rolling.wav");
                 destroy();
             }
         });
-        autoDestroyTimer.setRepeats(false);
-        autoDestroyTimer.start();
     }
 
     /**
@@ -86,25 +95,25 @@ public class RollingPaintBucket extends DynamicBody implements CollisionListener
 
         if (e.getOtherBody() instanceof Cat cat && !cat.isUsingRug()) {
             cat.takeDamage(15);
-            SoundEffectManager.stop("data/Sounds/Rolling.wav");
-            SoundEffectManager.play("data/Sounds/Hiss.wav", false);
+            SoundEffectManager.play(getWorld(), "data/Sounds/Hiss.wav", false);
             destroy();
         } else if (e.getOtherBody() instanceof RockProjectile || e.getOtherBody() instanceof NubellaProjectile) {
-            SoundEffectManager.stop("data/Sounds/Rolling.wav");
             destroy();
         }
     }
 
     /**
-     * Cleans up timers and destroys the bucket safely.
+     * Cleans up timers and the rolling sound, and destroys the bucket safely.
      */
     @Override
     public void destroy() {
         if (destroyed) return;
 
         destroyed = true;
-        if (proximityTimer != null) proximityTimer.stop();
-        if (autoDestroyTimer != null) autoDestroyTimer.stop();
+        if (proximityTimer != null) proximityTimer.cancel();
+        if (autoDestroyTimer != null) autoDestroyTimer.cancel();
+        spatialIndex.remove(this);
+        if (hasStartedRolling) SoundEffectManager.stop(getWorld(), "data/Sounds/Rolling.wav");
         super.destroy();
     }
 }
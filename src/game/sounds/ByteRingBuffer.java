@@ -0,0 +1,82 @@
+package game.sounds;
+
+/**
+ * Fixed-size blocking ring buffer of bytes, used to hand decoded audio from
+ * a decoder thread to a playback thread without growing the heap.
+ */
+public class ByteRingBuffer {
+    private final byte[] data;
+    private int readPos = 0;
+    private int size = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a ring buffer.
+     * @param capacity number of bytes the buffer can hold
+     */
+    public ByteRingBuffer(int capacity) {
+        data = new byte[capacity];
+    }
+
+    /**
+     * Writes all bytes, waiting for space as needed.
+     * @return false if the buffer was closed before everything was written
+     */
+    public synchronized boolean write(byte[] source, int offset, int length) throws InterruptedException {
+        while (length > 0) {
+            while (size == data.length && !closed) {
+                wait();
+            }
+            if (closed) return false;
+
+            int writePos = (readPos + size) % data.length;
+            int count = Math.min(length, Math.min(data.length - size, data.length - writePos));
+            System.arraycopy(source, offset, data, writePos, count);
+            size += count;
+            offset += count;
+            length -= count;
+            notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Reads up to length bytes, waiting until at least one byte is available.
+     * @return number of bytes read, or -1 once the buffer is closed and empty
+     */
+    public synchronized int read(byte[] target, int offset, int length) throws InterruptedException {
+        while (size == 0 && !closed) {
+            wait();
+        }
+        if (size == 0) return -1;
+
+        int count = Math.min(length, Math.min(size, data.length - readPos));
+        System.arraycopy(data, readPos, target, offset, count);
+        readPos = (readPos + count) % data.length;
+        size -= count;
+        notifyAll();
+        return count;
+    }
+
+    /**
+     * Returns how many bytes are waiting to be read.
+     */
+    public synchronized int available() {
+        return size;
+    }
+
+    /**
+     * Returns the fixed capacity of the buffer in bytes.
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Closes the buffer, waking up any waiting reader or writer.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+}
@@ -1,14 +1,14 @@
 package game.sounds;
 
-import javax.sound.sampled.*;
-import java.io.File;
-
 /**
  * Manages background music playback, including fading in and out.
+ * Tracks are streamed by {@link MusicStream}, so starting a track never decodes the whole file
+ * on the calling thread.
+ * There is one music track for the game window, so this stays static and is only used by the GUI;
+ * worlds never touch it, which keeps headless and batch runs independent of each other.
  */
 public class MusicManager {
-    private static Clip currentClip;
-    private static FloatControl volumeControl;
+    private static MusicStream currentStream;
     private static Thread fadeThread;
 
     /**
@@ -16,38 +16,27 @@ public class MusicManager {
      * @param filepath path to the audio file
      * @param loop whether to loop the music
      */
-    public static void play(String filepath, boolean loop) {
+    public static synchronized void play(String filepath, boolean loop) {
         stop();
-        try {
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(new File(filepath));
-            currentClip = AudioSystem.getClip();
-            currentClip.open(audioIn);
-            volumeControl = (FloatControl) currentClip.getControl(FloatControl.Type.MASTER_GAIN);
-
-            if (loop) {
-                currentClip.loop(Clip.LOOP_CONTINUOUSLY);
-            } else {
-                currentClip.start();
-            }
-        } catch (Exception e) {
-            System.out.println("Error loading music: " + e.getMessage());
-        }
+        currentStream = new MusicStream(filepath, loop, 0f);
+        currentStream.start();
     }
 
     /**
      * Fades out the currently playing music and stops it.
      */
-    public static void fadeOutAndStop() {
+    public static synchronized void fadeOutAndStop() {
         stopFade();
-        if (currentClip != null && currentClip.isRunning()) {
+        MusicStream stream = currentStream;
+        if (stream != null && stream.isPlaying()) {
             fadeThread = new Thread(() -> {
                 try {
-                    for (float i = volumeControl.getValue(); i >= -40; i -= 2) {
-                        volumeControl.setValue(i);
+                    for (float i = stream.getGain(); i >= -40; i -= 2) {
+                        stream.setGain(i);
                         Thread.sleep(50);
                     }
-                    stop();
-                } catch (Exception ignored) {}
+                    stopStream(stream);
+                } catch (InterruptedException ignored) {}
             });
             fadeThread.start();
         }
@@ -58,45 +47,61 @@ public class MusicManager {
      * @param filepath path to the audio file
      * @param loop whether to loop the music
      */
-    public static void fadeIn(String filepath, boolean loop) {
+    public static synchronized void fadeIn(String filepath, boolean loop) {
+        fadeIn(new MusicStream(filepath, loop, -40f));
+    }
+
+    /**
+     * Fades in a track that has already been created, e.g. by {@link #prepare}.
+     * @param stream the stream to play; it must not have been started yet
+     */
+    public static synchronized void fadeIn(MusicStream stream) {
         stop();
         stopFade();
-        try {
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(new File(filepath));
-            currentClip = AudioSystem.getClip();
-            currentClip.open(audioIn);
-            volumeControl = (FloatControl) currentClip.getControl(FloatControl.Type.MASTER_GAIN);
-            volumeControl.setValue(-40f);
+        stream.setGain(-40f);
+        currentStream = stream;
+        stream.start();
 
-            if (loop) {
-                currentClip.loop(Clip.LOOP_CONTINUOUSLY);
-            } else {
-                currentClip.start();
-            }
+        fadeThread = new Thread(() -> {
+            try {
+                for (float i = -40f; i <= 0f; i += 2f) {
+                    stream.setGain(i);
+                    Thread.sleep(50);
+                }
+            } catch (InterruptedException ignored) {}
+        });
+        fadeThread.start();
+    }
 
-            fadeThread = new Thread(() -> {
-                try {
-                    for (float i = -40f; i <= 0f; i += 2f) {
-                        volumeControl.setValue(i);
-                        Thread.sleep(50);
-                    }
-                } catch (Exception ignored) {}
-            });
-            fadeThread.start();
-        } catch (Exception e) {
-            System.out.println("Error fading in: " + e.getMessage());
-        }
+    /**
+     * Creates a track and decodes its start without playing it, so it can be faded in later
+     * without a delay. May be called from any thread; the decoding happens on the calling one.
+     * @param filepath path to the audio file
+     * @param loop whether to loop the music
+     */
+    public static MusicStream prepare(String filepath, boolean loop) {
+        MusicStream stream = new MusicStream(filepath, loop, -40f);
+        stream.prefill();
+        return stream;
     }
 
     /**
      * Immediately stops any music playing.
      */
-    public static void stop() {
-        if (currentClip != null) {
-            currentClip.stop();
-            currentClip.close();
-            currentClip = null;
-            volumeControl = null;
+    public static synchronized void stop() {
+        if (currentStream != null) {
+            currentStream.stop();
+            currentStream = null;
+        }
+    }
+
+    /**
+     * Stops a stream once its fade-out finished, unless a new track has replaced it meanwhile.
+     */
+    private static synchronized void stopStream(MusicStream stream) {
+        stream.stop();
+        if (currentStream == stream) {
+            currentStream = null;
         }
     }
 
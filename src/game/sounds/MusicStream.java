@@ -0,0 +1,230 @@
+package game.sounds;
+
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Streams a music file from disk instead of loading it into a Clip.
+ * A decoder thread reads the track in small chunks into a fixed ring buffer and a playback
+ * thread feeds the sound card from it, so heap use stays the same however long the track is.
+ * Looping reopens the file on the decoder thread, which keeps the loop seamless.
+ */
+public class MusicStream {
+    private static final int CHUNK_BYTES = 16 * 1024;
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final float SILENT_DB = -80f;
+
+    private final String filepath;
+    private final boolean loop;
+    private final ByteRingBuffer buffer = new ByteRingBuffer(BUFFER_BYTES);
+
+    private volatile AudioFormat format;
+    private volatile float gainDb;
+    private volatile boolean stopped = false;
+    private AudioInputStream prefilled;
+    private Thread decoderThread;
+    private Thread playbackThread;
+
+    /**
+     * Creates a music stream. Nothing is read until {@link #start()} is called.
+     * @param filepath path to the audio file
+     * @param loop whether to loop the music
+     * @param gainDb starting volume in decibels (0 is full volume)
+     */
+    public MusicStream(String filepath, boolean loop, float gainDb) {
+        this.filepath = filepath;
+        this.loop = loop;
+        this.gainDb = gainDb;
+    }
+
+    /**
+     * Decodes the start of the track into the buffer on the calling thread, so playback can begin
+     * without waiting for the decoder, e.g. while the next level is preloaded. Fills at most the buffer
+     * and keeps the file open for the decoder to carry on from. Call before {@link #start()}.
+     */
+    public synchronized void prefill() {
+        if (prefilled != null || decoderThread != null || stopped) return;
+
+        byte[] chunk = new byte[CHUNK_BYTES];
+        AudioInputStream in = null;
+        try {
+            in = openPcm();
+            boolean open = true;
+            int read;
+            while (open && !stopped && buffer.capacity() - buffer.available() >= chunk.length
+                    && (read = in.read(chunk, 0, chunk.length - chunk.length % frameSize())) > 0) {
+                open = buffer.write(chunk, 0, read);
+            }
+            // After stop() the file is closed below rather than kept for a decoder that will never run
+            if (open && !stopped) {
+                prefilled = in;
+                in = null;
+            }
+        } catch (InterruptedException ignored) {
+            // Buffer closed by stop()
+        } catch (Exception e) {
+            System.out.println("Error prefilling music: " + e.getMessage());
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    /**
+     * Returns how many decoded bytes are waiting to be played.
+     */
+    public int getBufferedBytes() {
+        return buffer.available();
+    }
+
+    /**
+     * Hands the prefilled file over to the decoder, or returns null if the track wasn't prefilled.
+     */
+    private synchronized AudioInputStream takePrefilled() {
+        AudioInputStream in = prefilled;
+        prefilled = null;
+        return in;
+    }
+
+    /**
+     * Starts decoding and playback on background threads. Returns immediately.
+     */
+    public synchronized void start() {
+        decoderThread = new Thread(this::decode, "music-decoder");
+        decoderThread.setDaemon(true);
+        playbackThread = new Thread(this::playback, "music-playback");
+        playbackThread.setDaemon(true);
+        decoderThread.start();
+        playbackThread.start();
+    }
+
+    /**
+     * Stops playback and both threads as soon as possible.
+     */
+    public void stop() {
+        stopped = true;
+        buffer.close();
+        AudioInputStream unused = takePrefilled();
+        if (unused != null) {
+            try {
+                unused.close();
+            } catch (IOException ignored) {}
+        }
+        if (decoderThread != null) decoderThread.interrupt();
+        if (playbackThread != null) playbackThread.interrupt();
+    }
+
+    /**
+     * Sets the volume in decibels (0 is full volume).
+     */
+    public void setGain(float gainDb) {
+        this.gainDb = gainDb;
+    }
+
+    /**
+     * Returns the current volume in decibels.
+     */
+    public float getGain() {
+        return gainDb;
+    }
+
+    /**
+     * Returns true until the stream has been stopped or a non-looping track has finished.
+     */
+    public boolean isPlaying() {
+        return !stopped;
+    }
+
+    /**
+     * Decoder thread: reads the file chunk by chunk into the ring buffer, reopening it to loop.
+     */
+    private void decode() {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        AudioInputStream next = takePrefilled();
+        try {
+            do {
+                try (AudioInputStream in = next != null ? next : openPcm()) {
+                    next = null;
+                    int read;
+                    while (!stopped && (read = in.read(chunk, 0, chunk.length - chunk.length % frameSize())) > 0) {
+                        if (!buffer.write(chunk, 0, read)) return;
+                    }
+                }
+            } while (loop && !stopped);
+        } catch (InterruptedException ignored) {
+            // Stopped while waiting for space
+        } catch (Exception e) {
+            System.out.println("Error streaming music: " + e.getMessage());
+        } finally {
+            buffer.close();
+        }
+    }
+
+    /**
+     * Opens the file converted to 16-bit signed little-endian PCM.
+     */
+    private AudioInputStream openPcm() throws UnsupportedAudioFileException, IOException {
+        AudioInputStream source = AudioSystem.getAudioInputStream(new File(filepath));
+        AudioFormat sourceFormat = source.getFormat();
+        AudioFormat pcm = new AudioFormat(sourceFormat.getSampleRate(), 16, sourceFormat.getChannels(), true, false);
+        format = pcm;
+        return AudioSystem.getAudioInputStream(pcm, source);
+    }
+
+    private int frameSize() {
+        AudioFormat current = format;
+        return current == null ? 4 : current.getFrameSize();
+    }
+
+    /**
+     * Playback thread: drains the ring buffer into an output line, applying the current gain.
+     */
+    private void playback() {
+        byte[] block = new byte[CHUNK_BYTES / 4];
+        SourceDataLine line = null;
+        try {
+            int read;
+            while (!stopped && (read = buffer.read(block, 0, block.length)) > 0) {
+                if (line == null) {
+                    line = AudioSystem.getSourceDataLine(format);
+                    line.open(format, CHUNK_BYTES);
+                    line.start();
+                }
+                applyGain(block, read);
+                line.write(block, 0, read);
+            }
+            if (line != null && !stopped) line.drain();
+        } catch (InterruptedException ignored) {
+            // Stopped while waiting for data
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Error playing music: " + e.getMessage());
+        } finally {
+            if (line != null) {
+                line.stop();
+                line.close();
+            }
+            stopped = true;
+            buffer.close();
+        }
+    }
+
+    /**
+     * Scales 16-bit little-endian samples in place by the current gain.
+     */
+    private void applyGain(byte[] block, int length) {
+        float db = gainDb;
+        if (db >= 0f) return;
+
+        float scale = db <= SILENT_DB ? 0f : (float) Math.pow(10.0, db / 20.0);
+        for (int i = 0; i + 1 < length; i += 2) {
+            int sample = (short) ((block[i] & 0xff) | (block[i + 1] << 8));
+            sample = (int) (sample * scale);
+            block[i] = (byte) sample;
+            block[i + 1] = (byte) (sample >> 8);
+        }
+    }
+}
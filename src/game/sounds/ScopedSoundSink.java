@@ -0,0 +1,65 @@
+package game.sounds;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The sound sink of one world. It remembers which effects the world played, so leaving the world can stop
+ * any that are still sounding, and it drops (and counts) any sound the world tries to play after that.
+ */
+public class ScopedSoundSink implements SoundSink {
+    private SoundSink delegate;
+    private final Set<String> played = new LinkedHashSet<>();
+    private boolean closed = false;
+    private int playsAfterClose = 0;
+
+    /**
+     * Creates a sink that passes sounds on to another one.
+     */
+    public ScopedSoundSink(SoundSink delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Changes where sounds are passed on to.
+     */
+    public synchronized void setDelegate(SoundSink delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void play(String filepath, boolean allowOverlap) {
+        if (closed) {
+            playsAfterClose++;
+            return;
+        }
+        played.add(filepath);
+        delegate.play(filepath, allowOverlap);
+    }
+
+    @Override
+    public synchronized void stop(String filepath) {
+        if (!closed) {
+            delegate.stop(filepath);
+        }
+    }
+
+    /**
+     * Stops every effect this world played and ignores any played from now on.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        for (String filepath : played) {
+            delegate.stop(filepath);
+        }
+        played.clear();
+    }
+
+    /**
+     * Gets how many sounds the world tried to play after it was left.
+     */
+    public synchronized int getPlaysAfterClose() {
+        return playsAfterClose;
+    }
+}
@@ -1,75 +1,57 @@
 package game.sounds;
 
-import javax.sound.sampled.*;
-import java.io.File;
-import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import city.cs.engine.World;
+import game.main.GameWorld;
 
 /**
  * Handles playing sound effects, allowing or preventing overlap.
+ * Effects are decoded once and mixed by a shared {@link SoundEngine} on its own audio thread,
+ * so these calls are cheap enough to make from step listeners and collision handlers.
+ * Game code passes the world the sound happens in, so each world can route its sounds
+ * to its own {@link SoundSink} (worlds without a window stay silent).
  */
 public class SoundEffectManager {
-    private static final Map<String, Clip> activeClips = new ConcurrentHashMap<>();
+    private static final SoundEngine engine = new SoundEngine("sound-effects");
 
     /**
-     * Plays a sound effect.
+     * Plays a sound effect in a world.
+     * @param world the world the sound happens in
      * @param filepath path to the audio file
      * @param allowOverlap whether the same sound can overlap itself
      */
-    public static void play(String filepath, boolean allowOverlap) {
-        new Thread(() -> {
-            try {
-                if (!allowOverlap && activeClips.containsKey(filepath)) {
-                    Clip existingClip = activeClips.get(filepath);
-                    if (existingClip.isRunning()) {
-                        return; // Don't replay if already playing
-                    } else {
-                        activeClips.remove(filepath);
-                    }
-                }
-
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(new File(filepath));
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-
-                if (!allowOverlap) {
-                    activeClips.put(filepath, clip);
-                    clip.addLineListener(event -> {
-                        if (event.getType() == LineEvent.Type.STOP) {
-                            clip.close();
-                            activeClips.remove(filepath);
-                        }
-                    });
-                }
-
-            } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-                System.out.println("Failed to play sound effect: " + e.getMessage());
-            }
-        }).start();
+    public static void play(World world, String filepath, boolean allowOverlap) {
+        sinkFor(world).play(filepath, allowOverlap);
     }
 
     /**
-     * Plays a sound effect allowing overlap (shortcut version).
+     * Plays a sound effect in a world allowing overlap (shortcut version).
+     * @param world the world the sound happens in
      * @param filepath path to the audio file
      */
-    public static void play(String filepath) {
-        play(filepath, true);
+    public static void play(World world, String filepath) {
+        play(world, filepath, true);
     }
 
     /**
-     * Stops a specific sound effect if it's currently playing.
+     * Stops a specific sound effect in a world if it's currently playing.
+     * @param world the world the sound happens in
      * @param filepath path to the audio file
      */
-    public static void stop(String filepath) {
-        Clip clip = activeClips.get(filepath);
-        if (clip != null) {
-            if (clip.isRunning()) {
-                clip.stop();
-            }
-            clip.close();
-            activeClips.remove(filepath);
-        }
+    public static void stop(World world, String filepath) {
+        sinkFor(world).stop(filepath);
+    }
+
+    /**
+     * Returns the sink a world's sounds go to (the shared engine for plain worlds).
+     */
+    private static SoundSink sinkFor(World world) {
+        return world instanceof GameWorld gw ? gw.getSounds() : engine;
+    }
+
+    /**
+     * Returns the engine behind this manager, e.g. to read voice and cache counters.
+     */
+    public static SoundEngine getEngine() {
+        return engine;
     }
 }
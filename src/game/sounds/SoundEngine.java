@@ -0,0 +1,288 @@
+package game.sounds;
+
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixes sound effects in software on one dedicated audio thread.
+ * Each effect is decoded once into a PCM cache and played through a fixed pool of voices
+ * that share a single output line, so playing a sound never opens files or starts threads.
+ */
+public class SoundEngine implements SoundSink {
+
+    /** Format every effect is converted to before mixing (CD quality, 16-bit stereo). */
+    public static final AudioFormat MIX_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private static final int MAX_VOICES = 16;
+    private static final int BLOCK_FRAMES = 512;
+    private static final short[] MISSING = new short[0];
+
+    private final Map<String, short[]> pcmCache = new ConcurrentHashMap<>();
+    private final BlockingQueue<Command> commands = new LinkedBlockingQueue<>();
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final String name;
+
+    private Thread audioThread;
+    private SourceDataLine line;
+    private boolean lineFailed = false;
+    private long playSequence = 0;
+
+    private volatile int voicesInUse = 0;
+    private volatile long voiceSteals = 0;
+    private volatile long cacheHits = 0;
+    private volatile long cacheMisses = 0;
+
+    /**
+     * Creates a sound engine. The audio thread is started on the first play request.
+     * @param name name used for the audio thread
+     */
+    public SoundEngine(String name) {
+        this.name = name;
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+    }
+
+    /**
+     * Queues a sound effect to be played. Never blocks the caller.
+     * @param filepath path to the audio file
+     * @param allowOverlap whether the same sound can overlap itself
+     */
+    @Override
+    public void play(String filepath, boolean allowOverlap) {
+        submit(new Command(filepath, allowOverlap, false));
+    }
+
+    /**
+     * Queues stopping every voice currently playing the given file.
+     * @param filepath path to the audio file
+     */
+    @Override
+    public void stop(String filepath) {
+        submit(new Command(filepath, false, true));
+    }
+
+    /**
+     * Decodes a sound effect into the cache ahead of time so its first play has no decoding delay.
+     * @param filepath path to the audio file
+     */
+    public void preload(String filepath) {
+        pcmCache.computeIfAbsent(filepath, SoundEngine::decode);
+    }
+
+    private synchronized void submit(Command command) {
+        commands.add(command);
+        if (audioThread == null) {
+            audioThread = new Thread(this::run, name);
+            audioThread.setDaemon(true);
+            audioThread.start();
+        }
+    }
+
+    /**
+     * Main loop of the audio thread: applies queued commands and mixes active voices into the line.
+     */
+    private void run() {
+        int[] mix = new int[BLOCK_FRAMES * 2];
+        byte[] out = new byte[BLOCK_FRAMES * 4];
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (voicesInUse == 0) {
+                    // Nothing playing: sleep until the next command arrives
+                    Command next = commands.poll(1, TimeUnit.SECONDS);
+                    if (next == null) continue;
+                    apply(next);
+                }
+                Command command;
+                while ((command = commands.poll()) != null) {
+                    apply(command);
+                }
+                if (voicesInUse > 0 && openLine()) {
+                    mixBlock(mix, out);
+                    line.write(out, 0, out.length);
+                } else if (voicesInUse > 0) {
+                    // No output device: voices are dropped instead of mixed
+                    releaseAll();
+                }
+            }
+        } catch (InterruptedException ignored) {
+            // Engine shut down
+        }
+    }
+
+    /**
+     * Applies one play or stop command on the audio thread.
+     */
+    private void apply(Command command) {
+        if (command.stop()) {
+            for (Voice voice : voices) {
+                if (voice.pcm != null && voice.path.equals(command.path())) {
+                    voice.release();
+                    voicesInUse--;
+                }
+            }
+            return;
+        }
+
+        if (!command.allowOverlap()) {
+            for (Voice voice : voices) {
+                if (voice.pcm != null && voice.path.equals(command.path())) {
+                    return; // Don't replay if already playing
+                }
+            }
+        }
+
+        short[] pcm = pcmCache.get(command.path());
+        if (pcm != null) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+            pcm = pcmCache.computeIfAbsent(command.path(), SoundEngine::decode);
+        }
+        if (pcm == MISSING) return;
+
+        Voice voice = freeVoice();
+        voice.start(command.path(), pcm, playSequence++);
+        voicesInUse++;
+    }
+
+    /**
+     * Finds an idle voice, stealing the oldest one if the whole pool is busy.
+     */
+    private Voice freeVoice() {
+        Voice oldest = voices[0];
+        for (Voice voice : voices) {
+            if (voice.pcm == null) return voice;
+            if (voice.sequence < oldest.sequence) oldest = voice;
+        }
+        voiceSteals++;
+        oldest.release();
+        voicesInUse--;
+        return oldest;
+    }
+
+    /**
+     * Mixes one block of every active voice into 16-bit little-endian output.
+     */
+    private void mixBlock(int[] mix, byte[] out) {
+        Arrays.fill(mix, 0);
+        for (Voice voice : voices) {
+            if (voice.pcm == null) continue;
+
+            int count = Math.min(mix.length, voice.pcm.length - voice.position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += voice.pcm[voice.position + i];
+            }
+            voice.position += count;
+            if (voice.position >= voice.pcm.length) {
+                voice.release();
+                voicesInUse--;
+            }
+        }
+
+        for (int i = 0; i < mix.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            out[i * 2] = (byte) sample;
+            out[i * 2 + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    private void releaseAll() {
+        for (Voice voice : voices) {
+            voice.release();
+        }
+        voicesInUse = 0;
+    }
+
+    /**
+     * Opens the shared output line the first time it is needed.
+     * @return true if a line is available
+     */
+    private boolean openLine() {
+        if (line != null) return true;
+        if (lineFailed) return false;
+        try {
+            line = AudioSystem.getSourceDataLine(MIX_FORMAT);
+            line.open(MIX_FORMAT, BLOCK_FRAMES * 4 * 4);
+            line.start();
+            return true;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Sound effects disabled: " + e.getMessage());
+            lineFailed = true;
+            return false;
+        }
+    }
+
+    /**
+     * Reads a whole sound file and converts it to interleaved mix-format samples.
+     */
+    private static short[] decode(String filepath) {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new File(filepath));
+             AudioInputStream converted = AudioSystem.getAudioInputStream(MIX_FORMAT, source)) {
+            byte[] bytes = converted.readAllBytes();
+            short[] samples = new short[bytes.length / 2];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (short) ((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+            }
+            return samples;
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.out.println("Failed to load sound effect " + filepath + ": " + e.getMessage());
+            return MISSING;
+        }
+    }
+
+    /** Returns how many voices are currently playing. */
+    public int getVoicesInUse() {
+        return voicesInUse;
+    }
+
+    /** Returns how many times a playing voice was cut off to make room for a new sound. */
+    public long getVoiceSteals() {
+        return voiceSteals;
+    }
+
+    /** Returns how many play requests found their sound already decoded. */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /** Returns how many play requests had to decode their sound first. */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * A queued play or stop request.
+     */
+    private record Command(String path, boolean allowOverlap, boolean stop) {}
+
+    /**
+     * One slot in the voice pool.
+     */
+    private static class Voice {
+        private String path;
+        private short[] pcm;
+        private int position;
+        private long sequence;
+
+        private void start(String path, short[] pcm, long sequence) {
+            this.path = path;
+            this.pcm = pcm;
+            this.position = 0;
+            this.sequence = sequence;
+        }
+
+        private void release() {
+            path = null;
+            pcm = null;
+        }
+    }
+}
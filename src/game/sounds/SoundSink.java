@@ -0,0 +1,33 @@
+package game.sounds;
+
+/**
+ * Where a world's sound effects go. Worlds shown in the game window use the shared
+ * {@link SoundEngine}; worlds run without a window use {@link #SILENT} so many of them
+ * can run at once without touching the audio device.
+ */
+public interface SoundSink {
+
+    /** A sink that ignores every sound. */
+    SoundSink SILENT = new SoundSink() {
+        @Override
+        public void play(String filepath, boolean allowOverlap) {
+        }
+
+        @Override
+        public void stop(String filepath) {
+        }
+    };
+
+    /**
+     * Plays a sound effect.
+     * @param filepath path to the audio file
+     * @param allowOverlap whether the same sound can overlap itself
+     */
+    void play(String filepath, boolean allowOverlap);
+
+    /**
+     * Stops a sound effect if it's currently playing.
+     * @param filepath path to the audio file
+     */
+    void stop(String filepath);
+}
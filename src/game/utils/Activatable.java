@@ -0,0 +1,38 @@
+package game.utils;
+
+import city.cs.engine.Body;
+
+/**
+ * Interface for entities whose update rate depends on how far they are from the camera.
+ */
+public interface Activatable {
+
+    /**
+     * How much work an entity does each step.
+     */
+    enum Tier {
+        /** Near the camera: full update every step. */
+        FULL,
+        /** In the margin around the camera: AI runs at a reduced rate. */
+        REDUCED,
+        /** Far away: no updates, timers suspended, body left to sleep. */
+        ASLEEP
+    }
+
+    /**
+     * Returns the physics body whose position decides the tier.
+     * @return the Body representing this entity
+     */
+    Body getBody();
+
+    /**
+     * Returns the entity's current tier.
+     */
+    Tier getTier();
+
+    /**
+     * Moves the entity to a new tier. Only called when the tier actually changes.
+     * @param tier the new tier
+     */
+    void setTier(Tier tier);
+}
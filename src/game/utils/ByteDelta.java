@@ -0,0 +1,90 @@
+package game.utils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Delta encoding of one byte array against another of mostly the same content, e.g. two snapshots of a level
+ * taken a few seconds apart. The arrays are XORed, so unchanged bytes become zero, and runs of zeros are
+ * skipped: the delta is the target's length followed by (zero run, literal length, literal XORed bytes) groups,
+ * all lengths as unsigned varints. Bytes past the end of the base count as zero.
+ */
+public final class ByteDelta {
+
+    /** Zero runs shorter than this stay inside a literal, since a new group would cost more. */
+    private static final int MIN_ZERO_RUN = 3;
+
+    private ByteDelta() {
+    }
+
+    /**
+     * Encodes {@code target} as a delta against {@code base}.
+     */
+    public static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        writeVarint(out, target.length);
+        int i = 0;
+        while (i < target.length) {
+            int zeros = 0;
+            while (i + zeros < target.length && xor(base, target, i + zeros) == 0) {
+                zeros++;
+            }
+            if (i + zeros == target.length) break; // Trailing zeros are implied
+
+            int start = i + zeros;
+            int end = start;
+            int run = 0;
+            while (end < target.length && run < MIN_ZERO_RUN) {
+                run = xor(base, target, end) == 0 ? run + 1 : 0;
+                end++;
+            }
+            if (run == MIN_ZERO_RUN) end -= run;
+
+            writeVarint(out, zeros);
+            writeVarint(out, end - start);
+            for (int j = start; j < end; j++) {
+                out.write(xor(base, target, j));
+            }
+            i = end;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Rebuilds the target from the base it was encoded against and the delta.
+     */
+    public static byte[] decode(byte[] base, byte[] delta) {
+        int[] pos = {0};
+        byte[] target = new byte[readVarint(delta, pos)];
+        System.arraycopy(base, 0, target, 0, Math.min(base.length, target.length));
+        int i = 0;
+        while (pos[0] < delta.length) {
+            i += readVarint(delta, pos);
+            int length = readVarint(delta, pos);
+            for (int end = i + length; i < end; i++) {
+                target[i] ^= delta[pos[0]++];
+            }
+        }
+        return target;
+    }
+
+    private static int xor(byte[] base, byte[] target, int i) {
+        return (i < base.length ? base[i] ^ target[i] : target[i]) & 0xFF;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] pos) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package game.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for streamed entities whose state changes during play, so a world snapshot keeps it
+ * (see {@link game.main.WorldSnapshot}). Entities without this interface are rebuilt as the level places them.
+ */
+public interface Snapshottable {
+
+    /**
+     * Returns the number of bytes {@link #writeState} writes. Must not change during the entity's life.
+     */
+    int getStateSize();
+
+    /**
+     * Writes the entity's state.
+     * @param out buffer with at least {@link #getStateSize()} bytes remaining
+     */
+    void writeState(ByteBuffer out);
+
+    /**
+     * Restores state written by {@link #writeState} onto an entity built from the same placement.
+     * @param in buffer positioned at the state
+     */
+    void readState(ByteBuffer in);
+}
@@ -0,0 +1,76 @@
+package game.utils;
+
+import org.jbox2d.common.Vec2;
+
+/**
+ * In-place vector operations for code that runs every step or every frame. Each operation writes into an
+ * {@code out} vector supplied by the caller instead of returning a new {@link Vec2}, so hot paths
+ * can reuse a scratch vector rather than create garbage.
+ * <p>
+ * Scratch vectors should be fields of the object that uses them, not shared statics: headless worlds
+ * step on several threads at once. The engine copies vectors passed to setters like
+ * {@code setPosition} and {@code setLinearVelocity}, so a scratch vector can be reused straight after.
+ */
+public final class VecMath {
+
+    private VecMath() {
+    }
+
+    /**
+     * Sets {@code out} to (x, y).
+     * @return out
+     */
+    public static Vec2 set(Vec2 out, float x, float y) {
+        out.x = x;
+        out.y = y;
+        return out;
+    }
+
+    /**
+     * Sets {@code out} to {@code v} moved by (dx, dy). {@code out} may be {@code v}.
+     * @return out
+     */
+    public static Vec2 offset(Vec2 v, float dx, float dy, Vec2 out) {
+        return set(out, v.x + dx, v.y + dy);
+    }
+
+    /**
+     * Sets {@code out} to {@code a - b}. {@code out} may be either input.
+     * @return out
+     */
+    public static Vec2 sub(Vec2 a, Vec2 b, Vec2 out) {
+        return set(out, a.x - b.x, a.y - b.y);
+    }
+
+    /**
+     * Gets the squared distance between two points.
+     */
+    public static float distanceSquared(Vec2 a, Vec2 b) {
+        float dx = a.x - b.x;
+        float dy = a.y - b.y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns whether two points are within {@code range} of each other.
+     */
+    public static boolean within(Vec2 a, Vec2 b, float range) {
+        return distanceSquared(a, b) <= range * range;
+    }
+
+    /**
+     * Sets {@code out} to the vector of the given length pointing from {@code from} to {@code to},
+     * or to zero if the points are the same. {@code out} may be either input.
+     * @return out
+     */
+    public static Vec2 towards(Vec2 from, Vec2 to, float length, Vec2 out) {
+        float dx = to.x - from.x;
+        float dy = to.y - from.y;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance < 1e-6f) {
+            return set(out, 0, 0);
+        }
+        float scale = length / distance;
+        return set(out, dx * scale, dy * scale);
+    }
+}